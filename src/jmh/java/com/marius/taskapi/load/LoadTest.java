@@ -0,0 +1,158 @@
+package com.marius.taskapi.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load generator for comparing threading modes of a running
+ * server: {@code concurrency} clients each send a request, wait for the
+ * response and send the next one, first for a warm-up period and then for the
+ * measured period.
+ * <p>
+ * Usage: {@code LoadTest [baseUrl] [concurrency] [seconds] [path]}, defaults
+ * {@code http://localhost:8080 200 30 /api/tasks?limit=50}.
+ */
+public final class LoadTest {
+    
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final int SEED_TASKS = 200;
+    
+    private LoadTest() {}
+    
+    public static void main(String[] args) throws Exception {
+        String baseUrl = arg(args, 0, "http://localhost:8080");
+        int concurrency = Integer.parseInt(arg(args, 1, "200"));
+        int seconds = Integer.parseInt(arg(args, 2, "30"));
+        String path = arg(args, 3, "/api/tasks?limit=50");
+        
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        String token = registerAndSeed(client, baseUrl);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        
+        System.out.printf("GET %s with %d clients: %ds warm-up, %ds measured%n",
+                path, concurrency, Math.max(5, seconds / 5), seconds);
+        run(client, request, concurrency, Math.max(5, seconds / 5));
+        Result result = run(client, request, concurrency, seconds);
+        result.print(seconds);
+    }
+    
+    private static String arg(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+    
+    private static String registerAndSeed(HttpClient client, String baseUrl) throws Exception {
+        String username = "load-" + UUID.randomUUID().toString().substring(0, 8);
+        String body = "{\"username\":\"" + username + "\",\"email\":\"" + username
+                + "@example.com\",\"password\":\"password123\"}";
+        HttpResponse<String> registered = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(registered.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Could not register load test user: " + registered.body());
+        }
+        String token = matcher.group(1);
+        
+        StringBuilder tasks = new StringBuilder("[");
+        for (int i = 0; i < SEED_TASKS; i++) {
+            tasks.append(i > 0 ? "," : "")
+                    .append("{\"title\":\"Load test task ").append(i)
+                    .append("\",\"description\":\"Seeded by LoadTest\",\"priority\":\"")
+                    .append(i % 3 == 0 ? "HIGH" : "MEDIUM").append("\"}");
+        }
+        client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/bulk"))
+                        .header("Content-Type", "application/json")
+                        .header("Authorization", "Bearer " + token)
+                        .POST(HttpRequest.BodyPublishers.ofString(tasks.append("]").toString()))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        return token;
+    }
+    
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Result>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    Result result = new Result();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            result.record(System.nanoTime() - start, response.statusCode() < 400);
+                        } catch (Exception e) {
+                            result.record(System.nanoTime() - start, false);
+                        }
+                    }
+                    return result;
+                }));
+            }
+            Result total = new Result();
+            for (Future<Result> future : futures) {
+                total.merge(future.get());
+            }
+            return total;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+    
+    private static final class Result {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        
+        void record(long nanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!success) {
+                errors++;
+            }
+        }
+        
+        void merge(Result other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+        
+        void print(int seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n", count, errors, (double) count / seconds);
+            System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f max=%.2f%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    count > 0 ? sorted[count - 1] / 1e6 : 0);
+        }
+        
+        private static double percentile(long[] sorted, double p) {
+            return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, p * sorted.length)] / 1e6;
+        }
+    }
+}
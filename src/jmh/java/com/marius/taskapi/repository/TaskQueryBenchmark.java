@@ -0,0 +1,187 @@
+package com.marius.taskapi.repository;
+
+import com.marius.taskapi.TaskApiApplication;
+import com.marius.taskapi.dto.TaskFilter;
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.dto.TaskSort;
+import com.marius.taskapi.model.Task;
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+import com.marius.taskapi.service.LuceneTaskSearchService;
+import com.marius.taskapi.service.TaskSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List, filter and search queries against an embedded H2 database seeded with
+ * {@code users} users of {@code tasksPerUser} tasks each, going through the
+ * same repositories, Flyway schema and indexes as the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TaskQueryBenchmark {
+    
+    private static final int PAGE_SIZE = 50;
+    private static final int SEED_BATCH_SIZE = 5000;
+    
+    private static final String[] VERBS = {
+            "Prepare", "Review", "Update", "Fix", "Plan", "Write", "Call", "Schedule", "Test", "Deploy"
+    };
+    private static final String[] SUBJECTS = {
+            "quarterly report", "release notes", "budget", "onboarding guide", "database backup",
+            "customer feedback", "invoice", "team meeting", "security audit", "documentation"
+    };
+    private static final String[] CATEGORIES = {
+            "Work", "Personal", "Finance", "Health", "Home", "Learning", "Travel", "Errands"
+    };
+    
+    @Param({"100"})
+    private int users;
+    
+    @Param({"1000"})
+    private int tasksPerUser;
+    
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TaskSearchService taskSearchService;
+    private Long userId;
+    private TaskResponse middleOfList;
+    private Specification<Task> filter;
+    private TaskSort filterSort;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(TaskApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "logging.level.com.marius.taskapi=WARN",
+                        "logging.level.org.springframework.security=WARN")
+                .run();
+        taskRepository = context.getBean(TaskRepository.class);
+        taskSearchService = context.getBean(TaskSearchService.class);
+        
+        seed(context.getBean(JdbcTemplate.class));
+        if (taskSearchService instanceof LuceneTaskSearchService lucene) {
+            lucene.rebuild();
+        }
+        
+        userId = (long) (users / 2 + 1);
+        List<TaskResponse> firstPages = taskRepository.findPageByUserId(userId, PageRequest.of(0, tasksPerUser / 2));
+        middleOfList = firstPages.get(firstPages.size() - 1);
+        
+        TaskFilter taskFilter = new TaskFilter();
+        taskFilter.setStatuses(List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS));
+        taskFilter.setPriorities(List.of(TaskPriority.HIGH));
+        taskFilter.setSort(TaskSort.parse("dueDate,asc"));
+        filter = TaskSpecifications.matching(userId, taskFilter);
+        filterSort = taskFilter.getSort();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> userRows = new ArrayList<>(users);
+        for (int u = 1; u <= users; u++) {
+            userRows.add(new Object[] {u, "user" + u, "user" + u + "@example.com", "not-a-real-hash"});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO users (id, username, email, password, created_at) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)",
+                userRows);
+        
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        List<Object[]> taskRows = new ArrayList<>(SEED_BATCH_SIZE);
+        long id = 1;
+        for (int u = 1; u <= users; u++) {
+            for (int t = 0; t < tasksPerUser; t++) {
+                String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+                Timestamp createdAt = Timestamp.valueOf(start.plusMinutes(random.nextInt(525_600)));
+                LocalDate dueDate = random.nextInt(10) < 3 ? null : LocalDate.now().plusDays(random.nextInt(365) - 90);
+                taskRows.add(new Object[] {
+                        id++,
+                        VERBS[random.nextInt(VERBS.length)] + " " + subject,
+                        "Notes about the " + subject + " for " + CATEGORIES[random.nextInt(CATEGORIES.length)].toLowerCase(),
+                        TaskStatus.values()[random.nextInt(TaskStatus.values().length)].name(),
+                        TaskPriority.values()[random.nextInt(TaskPriority.values().length)].name(),
+                        dueDate,
+                        CATEGORIES[random.nextInt(CATEGORIES.length)],
+                        createdAt,
+                        createdAt,
+                        u
+                });
+                if (taskRows.size() == SEED_BATCH_SIZE) {
+                    insertTasks(jdbcTemplate, taskRows);
+                    taskRows.clear();
+                }
+            }
+        }
+        insertTasks(jdbcTemplate, taskRows);
+    }
+    
+    private void insertTasks(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, description, status, priority, due_date, category, "
+                + "created_at, updated_at, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+    
+    private Pageable page() {
+        return PageRequest.of(0, PAGE_SIZE + 1);
+    }
+    
+    @Benchmark
+    public List<TaskResponse> firstPage() {
+        return taskRepository.findPageByUserId(userId, page());
+    }
+    
+    @Benchmark
+    public List<TaskResponse> keysetPage() {
+        return taskRepository.findPageByUserIdAfter(
+                userId, middleOfList.getCreatedAt(), middleOfList.getId(), page());
+    }
+    
+    @Benchmark
+    public List<TaskResponse> filteredPage() {
+        return taskRepository.findResponses(filter, filterSort.toSort(), PAGE_SIZE + 1);
+    }
+    
+    @Benchmark
+    public List<TaskResponse> search() {
+        return taskSearchService.search(userId, "quarterly report", 0, PAGE_SIZE + 1);
+    }
+}
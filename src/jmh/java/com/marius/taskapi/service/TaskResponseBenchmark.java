@@ -0,0 +1,91 @@
+package com.marius.taskapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marius.taskapi.dto.TaskPageResponse;
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.model.Task;
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+import com.marius.taskapi.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping and JSON serialization of list pages, the CPU
+ * side of every list request once the rows are loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskResponseBenchmark {
+    
+    @Param({"50", "200"})
+    private int pageSize;
+    
+    private TaskService taskService;
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    private TaskPageResponse page;
+    
+    @Setup
+    public void setUp() {
+        taskService = new TaskService();
+        // Same configuration Spring Boot applies to the application's ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        
+        User user = new User();
+        user.setId(42L);
+        LocalDateTime now = LocalDateTime.now();
+        tasks = new ArrayList<>(pageSize);
+        List<TaskResponse> responses = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Task task = new Task("Prepare quarterly report " + i,
+                    "Collect the figures from every team and summarise the open risks for the review meeting.",
+                    user);
+            task.setId((long) i);
+            task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            task.setPriority(TaskPriority.values()[i % TaskPriority.values().length]);
+            task.setDueDate(LocalDate.now().plusDays(i));
+            task.setCategory("Work");
+            task.setCreatedAt(now.minusHours(i));
+            task.setUpdatedAt(now);
+            tasks.add(task);
+            responses.add(taskService.convertToResponse(task));
+        }
+        page = new TaskPageResponse(responses, "MjAyNC0wMS0wMlQxMDowMDo0Mi4xMjM0NTZ8NDI");
+    }
+    
+    @Benchmark
+    public List<TaskResponse> convertToResponse() {
+        List<TaskResponse> responses = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            responses.add(taskService.convertToResponse(task));
+        }
+        return responses;
+    }
+    
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
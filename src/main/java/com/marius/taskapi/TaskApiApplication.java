@@ -2,12 +2,16 @@ package com.marius.taskapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC is only used by the reactive variant (ReactiveTaskApiApplication); without a
+// ConnectionFactory this application keeps a single, JPA-backed transaction manager
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
 public class TaskApiApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(TaskApiApplication.class, args);
     }
 }
-
@@ -0,0 +1,83 @@
+package com.marius.taskapi.config;
+
+import org.hibernate.SessionEventListener;
+
+import java.time.Duration;
+
+/**
+ * SQL statements executed, and time spent executing them, by the request that
+ * owns the current thread. Hibernate creates a {@link Listener} for every
+ * session (see {@code hibernate.session.events.auto}); the listener only counts
+ * while {@link SqlBudgetFilter} has started stats for the thread.
+ * <p>
+ * A JDBC batch counts as one statement, since it is one round trip.
+ */
+public final class RequestSqlStats {
+    
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+    
+    private int statements;
+    private long jdbcNanos;
+    private long executionStartedAt;
+    
+    private RequestSqlStats() {}
+    
+    static RequestSqlStats start() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+    
+    static void stop() {
+        CURRENT.remove();
+    }
+    
+    public int getStatements() {
+        return statements;
+    }
+    
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+    
+    private void executionStarted() {
+        statements++;
+        executionStartedAt = System.nanoTime();
+    }
+    
+    private void executionEnded() {
+        jdbcNanos += System.nanoTime() - executionStartedAt;
+    }
+    
+    /**
+     * Session event listener instantiated by Hibernate, once per session.
+     */
+    public static class Listener implements SessionEventListener {
+        
+        @Override
+        public void jdbcExecuteStatementStart() {
+            RequestSqlStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.executionStarted();
+            }
+        }
+        
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            RequestSqlStats stats = CURRENT.get();
+            if (stats != null) {
+                stats.executionEnded();
+            }
+        }
+        
+        @Override
+        public void jdbcExecuteBatchStart() {
+            jdbcExecuteStatementStart();
+        }
+        
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            jdbcExecuteStatementEnd();
+        }
+    }
+}
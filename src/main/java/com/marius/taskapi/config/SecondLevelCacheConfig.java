@@ -0,0 +1,111 @@
+package com.marius.taskapi.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level and query cache, kept in local Caffeine caches behind
+ * JCache. Every region is created here with an explicit bound; Hibernate is set
+ * to fail on startup if it asks for a region that is not listed.
+ * <p>
+ * Entity regions are updated in place when an entity changes. Query results are
+ * invalidated per table: any committed write to {@code tasks} makes every cached
+ * task list stale, which Hibernate tracks in the update timestamps region.
+ * The cache is local to the JVM. Writes that bypass Hibernate (the reactive
+ * variant, other nodes) are picked up by {@code TaskChangeFeed}, which polls for
+ * rows with a newer {@code updated_at} and for tombstones every
+ * {@code task.change-feed.poll-seconds} and evicts the affected task entries
+ * and the task-list queries; until then such entries can be stale. Manual SQL
+ * that leaves {@code updated_at} alone is only seen once entries expire.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    
+    public static final String TASKS_REGION = "tasks";
+    public static final String USERS_REGION = "users";
+    public static final String TASK_LISTS_REGION = "task-lists";
+    public static final String USER_LOOKUPS_REGION = "user-lookups";
+    
+    private static final List<String> MONITORED_REGIONS =
+            List.of(TASKS_REGION, USERS_REGION, TASK_LISTS_REGION, USER_LOOKUPS_REGION);
+    
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${task.cache.entity.max-size:10000}") long entityMaxSize,
+            @Value("${task.cache.query.max-size:1000}") long queryMaxSize,
+            @Value("${task.cache.ttl-seconds:300}") long ttlSeconds) {
+        // A provider of our own rather than Caching.getCachingProvider(), whose managers
+        // are JVM-wide and would be shared between application contexts in tests
+        CacheManager cacheManager = new CaffeineCachingProvider()
+                .getCacheManager(URI.create("hibernate"), getClass().getClassLoader());
+        long ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        
+        cacheManager.createCache(TASKS_REGION, regionConfig(entityMaxSize, ttlNanos));
+        cacheManager.createCache(USERS_REGION, regionConfig(entityMaxSize, ttlNanos));
+        cacheManager.createCache(TASK_LISTS_REGION, regionConfig(queryMaxSize, ttlNanos));
+        cacheManager.createCache(USER_LOOKUPS_REGION, regionConfig(queryMaxSize, ttlNanos));
+        // Required by Hibernate even though every cached query names its own region
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                regionConfig(queryMaxSize, ttlNanos));
+        // One entry per table. Losing an entry would let stale query results through,
+        // so this region is neither bounded nor expired.
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+    
+    private static CaffeineConfiguration<Object, Object> regionConfig(long maxSize, long ttlNanos) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(maxSize))
+                .setExpireAfterWrite(OptionalLong.of(ttlNanos));
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+    
+    /**
+     * Publishes {@code hibernate.cache.hit.ratio} per region, next to the raw hit
+     * and miss counters that Spring Boot registers from the Hibernate statistics.
+     */
+    @Bean
+    public MeterBinder hibernateCacheHitRatio(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            for (String region : MONITORED_REGIONS) {
+                Gauge.builder("hibernate.cache.hit.ratio", statistics,
+                                stats -> hitRatio(stats.getCacheRegionStatistics(region)))
+                        .tag("region", region)
+                        .description("Share of cache lookups in the region that were hits")
+                        .register(registry);
+            }
+        };
+    }
+    
+    private static double hitRatio(CacheRegionStatistics region) {
+        if (region == null) {
+            return Double.NaN;
+        }
+        long lookups = region.getHitCount() + region.getMissCount();
+        return lookups == 0 ? Double.NaN : (double) region.getHitCount() / lookups;
+    }
+}
@@ -0,0 +1,45 @@
+package com.marius.taskapi.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback filter that samples Hibernate's slow query log. Hibernate logs every
+ * statement slower than {@code hibernate.log_slow_query}; when the database as
+ * a whole slows down that is every statement, so at most
+ * {@code maxPerSecond} of them are let through each second and the rest are
+ * dropped. Events from other loggers pass unchanged.
+ * <p>
+ * Configured in logback-spring.xml, outside the Spring context, on the
+ * asynchronous appender: it decides before an event is queued, so a burst of
+ * slow queries cannot fill the ring buffer and crowd out other log events.
+ */
+public class SlowQueryLogFilter extends Filter<ILoggingEvent> {
+    
+    static final String SLOW_QUERY_LOGGER = "org.hibernate.SQL_SLOW";
+    
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger loggedThisSecond = new AtomicInteger();
+    private int maxPerSecond = 10;
+    
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (!SLOW_QUERY_LOGGER.equals(event.getLoggerName())) {
+            return FilterReply.NEUTRAL;
+        }
+        long second = event.getTimeStamp() / 1000;
+        long previous = currentSecond.get();
+        if (second != previous && currentSecond.compareAndSet(previous, second)) {
+            loggedThisSecond.set(0);
+        }
+        return loggedThisSecond.incrementAndGet() <= maxPerSecond ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+    
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+}
@@ -0,0 +1,105 @@
+package com.marius.taskapi.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements each request executes and checks them against a
+ * budget per endpoint, so an accidental N+1 or lazy load on a hot path shows
+ * up as soon as it is introduced.
+ * <p>
+ * Endpoints are keyed by method and path pattern, e.g. {@code GET /api/tasks/{id}}.
+ * Budgets are listed in {@code task.sql-budget.endpoints}; other endpoints get
+ * {@code task.sql-budget.default}. Exceeding a budget is logged as a warning,
+ * or fails the request when {@code task.sql-budget.fail-on-exceed} is set, as
+ * it is in tests. Statements run by the security filters, or after the request
+ * went async, are not counted.
+ */
+@Component
+public class SqlBudgetFilter extends OncePerRequestFilter {
+    
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final int defaultBudget;
+    private final Map<String, Integer> budgets = new HashMap<>();
+    private final boolean failOnExceed;
+    
+    public SqlBudgetFilter(
+            @Value("${task.sql-budget.default:10}") int defaultBudget,
+            @Value("${task.sql-budget.endpoints:}") String[] endpointBudgets,
+            @Value("${task.sql-budget.fail-on-exceed:false}") boolean failOnExceed) {
+        this.defaultBudget = defaultBudget;
+        this.failOnExceed = failOnExceed;
+        for (String entry : endpointBudgets) {
+            int separator = entry.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected 'METHOD /path=budget' in task.sql-budget.endpoints: " + entry);
+            }
+            budgets.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.stop();
+        }
+        
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        record(request.getMethod(), uri, stats);
+        
+        String endpoint = request.getMethod() + " " + uri;
+        int budget = budgets.getOrDefault(endpoint, defaultBudget);
+        if (stats.getStatements() > budget) {
+            String message = endpoint + " executed " + stats.getStatements()
+                    + " SQL statements, over its budget of " + budget;
+            if (failOnExceed) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        } else if (log.isDebugEnabled()) {
+            log.debug("{}: {} SQL statements, {} ms in JDBC", endpoint, stats.getStatements(),
+                    stats.getJdbcTime().toMillis());
+        }
+    }
+    
+    private void record(String method, String uri, RequestSqlStats stats) {
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements executed per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time per request spent executing SQL statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getJdbcTime());
+    }
+}
@@ -0,0 +1,34 @@
+package com.marius.taskapi.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Reports which threading mode the application ended up in. Spring Boot only
+ * switches Tomcat and the application task executor to virtual threads on
+ * Java 21+, and silently keeps platform threads otherwise.
+ */
+@Configuration
+public class ThreadingConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        boolean supported = JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+        if (virtualThreadsRequested && !supported) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "requests run on platform threads", Runtime.version().feature());
+        } else {
+            log.info("Requests run on {} threads", virtualThreadsRequested ? "virtual" : "platform");
+        }
+    }
+}
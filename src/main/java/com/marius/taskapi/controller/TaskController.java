@@ -1,22 +1,42 @@
 package com.marius.taskapi.controller;
 
+import com.marius.taskapi.dto.BulkTaskPatch;
+import com.marius.taskapi.dto.BulkTaskResponse;
+import com.marius.taskapi.dto.TaskChangesResponse;
+import com.marius.taskapi.dto.TaskFilter;
+import com.marius.taskapi.dto.TaskListVersion;
+import com.marius.taskapi.dto.TaskPageResponse;
+import com.marius.taskapi.dto.TaskPatchRequest;
 import com.marius.taskapi.dto.TaskRequest;
 import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.dto.TaskSort;
+import com.marius.taskapi.dto.TaskStatsResponse;
+import com.marius.taskapi.event.TaskEventBus;
 import com.marius.taskapi.model.TaskPriority;
 import com.marius.taskapi.model.TaskStatus;
+import com.marius.taskapi.security.UserPrincipal;
+import com.marius.taskapi.service.TaskExportService;
 import com.marius.taskapi.service.TaskService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Predicate;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -24,61 +44,197 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class TaskController {
     
+    // Responses may be stored by the client only, and must be revalidated with the ETag before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
     @Autowired
     private TaskService taskService;
     
+    @Autowired
+    private TaskExportService taskExportService;
+    
+    @Autowired
+    private TaskEventBus taskEventBus;
+    
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(
             @Valid @RequestBody TaskRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        TaskResponse response = taskService.createTask(request, userDetails);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        TaskResponse response = taskService.createTask(request, principal);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(TaskETags.of(response))
+                .body(response);
     }
     
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTasks(
-            @RequestParam(required = false) TaskStatus status,
-            @RequestParam(required = false) TaskPriority priority,
+    public ResponseEntity<TaskPageResponse> getAllTasks(
+            @RequestParam(required = false) List<TaskStatus> status,
+            @RequestParam(required = false) List<TaskPriority> priority,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(required = false) String sort,
             @RequestParam(required = false) String search,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal UserPrincipal principal,
+            WebRequest webRequest) {
+        
+        // Answer If-None-Match from the list version alone, before any task is read;
+        // checkNotModified has already set the 304 status and the ETag header
+        TaskListVersion version = taskService.getListVersion(principal);
+        String etag = TaskETags.of(version);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
         
-        List<TaskResponse> tasks;
+        TaskFilter filter = new TaskFilter();
+        filter.setStatuses(status);
+        filter.setPriorities(priority);
+        filter.setCategory(category);
+        filter.setDueDate(dueDate);
+        filter.setDueRange(dueFrom, dueTo);
+        filter.setSort(TaskSort.parse(sort));
+        
+        TaskPageResponse tasks;
         
         if (search != null && !search.isEmpty()) {
-            tasks = taskService.searchTasks(search, userDetails);
-        } else if (status != null || priority != null || category != null || dueDate != null) {
-            tasks = taskService.getTasksWithFilters(status, priority, category, dueDate, userDetails);
+            tasks = taskService.searchTasks(search, cursor, limit, principal);
+        } else if (!filter.isEmpty()) {
+            tasks = taskService.getTasksWithFilters(filter, cursor, limit, version, principal);
         } else {
-            tasks = taskService.getAllTasks(userDetails);
+            tasks = taskService.getAllTasks(cursor, limit, version, principal);
         }
         
-        return ResponseEntity.ok(tasks);
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(tasks);
+    }
+    
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTaskResponse> createTasks(
+            @RequestBody List<TaskRequest> requests,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskService.createTasks(requests, principal));
     }
     
+    @PatchMapping("/bulk")
+    public ResponseEntity<BulkTaskResponse> updateTasks(
+            @RequestBody List<BulkTaskPatch> patches,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskService.updateTasks(patches, principal));
+    }
+    
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkTaskResponse> deleteTasks(
+            @RequestBody List<Long> ids,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskService.deleteTasks(ids, principal));
+    }
+    
+    /**
+     * Incremental sync: returns what changed after {@code since}, which is the
+     * {@code until} value of the previous response, one page at a time.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> getChanges(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskService.getChanges(since, limit, principal));
+    }
+    
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getTaskStats(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskService.getStats(principal));
+    }
+    
+    /**
+     * Server-Sent Events stream of the current user's task changes, as
+     * {@code created}, {@code updated} and {@code deleted} events. Events are not
+     * replayed, so a client that reconnects catches up with GET /changes first.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTasks(@AuthenticationPrincipal UserPrincipal principal) {
+        return taskEventBus.subscribe(principal.getId());
+    }
+    
+    /**
+     * Streams every task of the current user as NDJSON (default) or CSV. The body
+     * is written after this method returns, so the user id is captured up front.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(required = false) String format,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        TaskExportService.Format exportFormat = TaskExportService.Format.parse(format);
+        Long userId = principal.getId();
+        StreamingResponseBody body = out -> taskExportService.export(userId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+    
+    /**
+     * Spring answers a matching If-None-Match with 304 from the ETag of the
+     * returned entity, without serialising the body.
+     */
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponse> getTaskById(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        TaskResponse response = taskService.getTaskById(id, userDetails);
-        return ResponseEntity.ok(response);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        TaskResponse response = taskService.getTaskById(id, principal);
+        return ResponseEntity.ok()
+                .eTag(TaskETags.of(response))
+                .cacheControl(REVALIDATE)
+                .body(response);
     }
     
+    /**
+     * With If-Match, the update is only applied if the task still has one of the
+     * given ETags; otherwise the response is 412 and nothing is changed.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable Long id,
             @Valid @RequestBody TaskRequest request,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        TaskResponse response = taskService.updateTask(id, request, userDetails);
-        return ResponseEntity.ok(response);
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        Predicate<TaskResponse> precondition = ifMatch != null
+                ? current -> TaskETags.matches(ifMatch, current)
+                : null;
+        TaskResponse response = taskService.updateTask(id, request, precondition, principal);
+        return ResponseEntity.ok()
+                .eTag(TaskETags.of(response))
+                .body(response);
+    }
+    
+    /**
+     * Changes only the fields present in the body. Supports If-Match like PUT.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<TaskResponse> patchTask(
+            @PathVariable Long id,
+            @Valid @RequestBody TaskPatchRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        Predicate<TaskResponse> precondition = ifMatch != null
+                ? current -> TaskETags.matches(ifMatch, current)
+                : null;
+        TaskResponse response = taskService.patchTask(id, request, precondition, principal);
+        return ResponseEntity.ok()
+                .eTag(TaskETags.of(response))
+                .body(response);
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        taskService.deleteTask(id, userDetails);
+            @AuthenticationPrincipal UserPrincipal principal) {
+        taskService.deleteTask(id, principal);
         return ResponseEntity.noContent().build();
     }
 }
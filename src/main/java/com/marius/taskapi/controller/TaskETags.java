@@ -0,0 +1,50 @@
+package com.marius.taskapi.controller;
+
+import com.marius.taskapi.dto.TaskListVersion;
+import com.marius.taskapi.dto.TaskResponse;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Entity tags for tasks and task lists.
+ * <p>
+ * A task's tag is strong and derived from its id and version, which the
+ * database increments with every update. A list's tag is weak and derived from the count
+ * and latest {@code updatedAt} of all the user's tasks, so it changes whenever
+ * any task is created, updated or deleted, whichever filter the list used.
+ */
+public final class TaskETags {
+    
+    private TaskETags() {}
+    
+    public static String of(TaskResponse task) {
+        return "\"" + task.getId() + "-" + task.getVersion() + "\"";
+    }
+    
+    public static String of(TaskListVersion version) {
+        return "W/\"" + version.getCount() + "-" + epochMicros(version.getLastUpdatedAt()) + "\"";
+    }
+    
+    /**
+     * Evaluates an If-Match header against the current state of a task, using
+     * the strong comparison RFC 9110 requires: weak tags never match.
+     */
+    public static boolean matches(String ifMatch, TaskResponse current) {
+        String etag = of(current);
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static long epochMicros(LocalDateTime time) {
+        if (time == null) {
+            return 0;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,22 @@
+package com.marius.taskapi.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One item of a bulk patch: the task to change and the fields to set on it.
+ */
+public class BulkTaskPatch extends TaskPatchRequest {
+    
+    @NotNull(message = "Id is required")
+    private Long id;
+    
+    public BulkTaskPatch() {}
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,51 @@
+package com.marius.taskapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Per-item outcome of a bulk request, in request order")
+public class BulkTaskResponse {
+    
+    private int succeeded;
+    
+    private int failed;
+    
+    private List<BulkTaskResult> results;
+    
+    public BulkTaskResponse() {}
+    
+    public BulkTaskResponse(List<BulkTaskResult> results) {
+        this.results = results;
+        for (BulkTaskResult result : results) {
+            if (result.isSuccess()) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+        }
+    }
+    
+    public int getSucceeded() {
+        return succeeded;
+    }
+    
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    public List<BulkTaskResult> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<BulkTaskResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,75 @@
+package com.marius.taskapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of one item of a bulk request")
+public class BulkTaskResult {
+    
+    @Schema(description = "Position of the item in the request")
+    private int index;
+    
+    private Long id;
+    
+    @Schema(description = "HTTP status the item would have had as a single request")
+    private int status;
+    
+    @Schema(description = "Why the item failed, or null on success")
+    private String error;
+    
+    @Schema(description = "The created or updated task; null for deletes and failures")
+    private TaskResponse task;
+    
+    public BulkTaskResult() {}
+    
+    public BulkTaskResult(int index, Long id, int status, String error, TaskResponse task) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+        this.task = task;
+    }
+    
+    public boolean isSuccess() {
+        return status < 400;
+    }
+    
+    public int getIndex() {
+        return index;
+    }
+    
+    public void setIndex(int index) {
+        this.index = index;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public int getStatus() {
+        return status;
+    }
+    
+    public void setStatus(int status) {
+        this.status = status;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    public TaskResponse getTask() {
+        return task;
+    }
+    
+    public void setTask(TaskResponse task) {
+        this.task = task;
+    }
+}
@@ -0,0 +1,62 @@
+package com.marius.taskapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Tasks created, updated or deleted since a point in time")
+public class TaskChangesResponse {
+    
+    @Schema(description = "Current state of the tasks created or updated since the requested time, oldest change first")
+    private List<TaskResponse> changed;
+    
+    @Schema(description = "Ids of tasks deleted since the requested time; apply after 'changed'")
+    private List<Long> deleted;
+    
+    @Schema(description = "Value to pass as 'since' on the next request")
+    private LocalDateTime until;
+    
+    @Schema(description = "Whether more changes are waiting; request the next page right away")
+    private boolean hasMore;
+    
+    public TaskChangesResponse() {}
+    
+    public TaskChangesResponse(List<TaskResponse> changed, List<Long> deleted, LocalDateTime until, boolean hasMore) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.until = until;
+        this.hasMore = hasMore;
+    }
+    
+    public List<TaskResponse> getChanged() {
+        return changed;
+    }
+    
+    public void setChanged(List<TaskResponse> changed) {
+        this.changed = changed;
+    }
+    
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+    
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+    
+    public LocalDateTime getUntil() {
+        return until;
+    }
+    
+    public void setUntil(LocalDateTime until) {
+        this.until = until;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,98 @@
+package com.marius.taskapi.dto;
+
+import com.marius.taskapi.exception.BadRequestException;
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Criteria for listing tasks. Every criterion is optional; only the ones
+ * that are set end up in the query.
+ */
+public class TaskFilter {
+    
+    private Set<TaskStatus> statuses = Collections.emptySet();
+    private Set<TaskPriority> priorities = Collections.emptySet();
+    private String category;
+    private LocalDate dueDate;
+    private LocalDate dueFrom;
+    private LocalDate dueTo;
+    private TaskSort sort = TaskSort.DEFAULT;
+    
+    public TaskFilter() {}
+    
+    /**
+     * @return whether any criterion or a non-default sort was requested
+     */
+    public boolean isEmpty() {
+        return statuses.isEmpty() && priorities.isEmpty() && category == null
+                && dueDate == null && dueFrom == null && dueTo == null
+                && TaskSort.DEFAULT.equals(sort);
+    }
+    
+    public Set<TaskStatus> getStatuses() {
+        return statuses;
+    }
+    
+    public void setStatuses(Collection<TaskStatus> statuses) {
+        this.statuses = statuses == null || statuses.isEmpty()
+                ? Collections.emptySet() : EnumSet.copyOf(statuses);
+    }
+    
+    public Set<TaskPriority> getPriorities() {
+        return priorities;
+    }
+    
+    public void setPriorities(Collection<TaskPriority> priorities) {
+        this.priorities = priorities == null || priorities.isEmpty()
+                ? Collections.emptySet() : EnumSet.copyOf(priorities);
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+    
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+    
+    public LocalDate getDueFrom() {
+        return dueFrom;
+    }
+    
+    public LocalDate getDueTo() {
+        return dueTo;
+    }
+    
+    /**
+     * Restricts the due date to an inclusive range; either bound may be open.
+     */
+    public void setDueRange(LocalDate dueFrom, LocalDate dueTo) {
+        if (dueFrom != null && dueTo != null && dueFrom.isAfter(dueTo)) {
+            throw new BadRequestException("dueFrom must not be after dueTo");
+        }
+        this.dueFrom = dueFrom;
+        this.dueTo = dueTo;
+    }
+    
+    public TaskSort getSort() {
+        return sort;
+    }
+    
+    public void setSort(TaskSort sort) {
+        this.sort = sort != null ? sort : TaskSort.DEFAULT;
+    }
+}
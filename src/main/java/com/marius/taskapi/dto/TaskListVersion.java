@@ -0,0 +1,47 @@
+package com.marius.taskapi.dto;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Summary of a user's task list that changes whenever a task is created,
+ * updated or deleted: the number of tasks and the latest update time.
+ */
+public class TaskListVersion {
+    
+    private final long count;
+    private final LocalDateTime lastUpdatedAt;
+    
+    public TaskListVersion(Long count, LocalDateTime lastUpdatedAt) {
+        this.count = count != null ? count : 0;
+        this.lastUpdatedAt = lastUpdatedAt;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    /**
+     * @return the most recent {@code updatedAt} of the user's tasks, or {@code null} if there are none
+     */
+    public LocalDateTime getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TaskListVersion)) {
+            return false;
+        }
+        TaskListVersion other = (TaskListVersion) o;
+        return count == other.count && Objects.equals(lastUpdatedAt, other.lastUpdatedAt);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(count, lastUpdatedAt);
+    }
+}
@@ -0,0 +1,36 @@
+package com.marius.taskapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "A page of tasks ordered from newest to oldest")
+public class TaskPageResponse {
+
+    private List<TaskResponse> items;
+
+    @Schema(description = "Opaque cursor for the next page, or null when this is the last page")
+    private String nextCursor;
+
+    public TaskPageResponse() {}
+
+    public TaskPageResponse(List<TaskResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TaskResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
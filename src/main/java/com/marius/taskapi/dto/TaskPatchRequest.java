@@ -0,0 +1,79 @@
+package com.marius.taskapi.dto;
+
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+
+/**
+ * Partial update of a task: only the fields that are set are changed.
+ */
+public class TaskPatchRequest {
+    
+    // Optional, but when present it must not be blank, as on create
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title must not be blank")
+    @Size(min = 1, max = 200, message = "Title must be between 1 and 200 characters")
+    private String title;
+    
+    @Size(max = 1000, message = "Description must not exceed 1000 characters")
+    private String description;
+    
+    private TaskStatus status;
+    
+    private TaskPriority priority;
+    
+    private LocalDate dueDate;
+    
+    private String category;
+    
+    public TaskPatchRequest() {}
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public TaskStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+    
+    public TaskPriority getPriority() {
+        return priority;
+    }
+    
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+    
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+    
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+}
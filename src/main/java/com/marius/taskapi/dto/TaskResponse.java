@@ -1,11 +1,12 @@
 package com.marius.taskapi.dto;
 
+import com.marius.taskapi.model.TaskFields;
 import com.marius.taskapi.model.TaskPriority;
 import com.marius.taskapi.model.TaskStatus;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
-public class TaskResponse {
+public class TaskResponse implements TaskFields {
     
     private Long id;
     private String title;
@@ -17,9 +18,30 @@ public class TaskResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Long userId;
+    private Long version;
     
     public TaskResponse() {}
     
+    /**
+     * Used by JPQL constructor expressions, which select list rows straight into
+     * responses without materialising managed {@code Task} entities.
+     */
+    public TaskResponse(Long id, String title, String description, TaskStatus status,
+                        TaskPriority priority, LocalDate dueDate, String category,
+                        LocalDateTime createdAt, LocalDateTime updatedAt, Long userId, Long version) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.category = category;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.userId = userId;
+        this.version = version;
+    }
+    
     public Long getId() {
         return id;
     }
@@ -99,5 +121,15 @@ public class TaskResponse {
     public void setUserId(Long userId) {
         this.userId = userId;
     }
+    
+    /**
+     * Incremented by every update; the task's ETag is derived from it.
+     */
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
-
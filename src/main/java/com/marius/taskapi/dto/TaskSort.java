@@ -0,0 +1,123 @@
+package com.marius.taskapi.dto;
+
+import com.marius.taskapi.exception.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Ordering of a task list, written as {@code field[,asc|desc]} in requests.
+ * The id is always appended as a tie-breaker so the order is total and can
+ * be used as a keyset. Null values sort after all others in ascending order.
+ */
+public final class TaskSort {
+    
+    public enum Field {
+        CREATED_AT("createdAt", TaskResponse::getCreatedAt, LocalDateTime::parse),
+        UPDATED_AT("updatedAt", TaskResponse::getUpdatedAt, LocalDateTime::parse),
+        DUE_DATE("dueDate", TaskResponse::getDueDate, LocalDate::parse),
+        TITLE("title", TaskResponse::getTitle, value -> value);
+        
+        private final String property;
+        private final Function<TaskResponse, Object> getter;
+        private final Function<String, Object> parser;
+        
+        Field(String property, Function<TaskResponse, Object> getter, Function<String, Object> parser) {
+            this.property = property;
+            this.getter = getter;
+            this.parser = parser;
+        }
+        
+        public String getProperty() {
+            return property;
+        }
+        
+        public Object valueOf(TaskResponse task) {
+            return getter.apply(task);
+        }
+        
+        public Object parse(String value) {
+            return parser.apply(value);
+        }
+        
+        static Field fromProperty(String property) {
+            for (Field field : values()) {
+                if (field.property.equals(property)) {
+                    return field;
+                }
+            }
+            throw new BadRequestException("Cannot sort by '" + property + "'");
+        }
+    }
+    
+    public static final TaskSort DEFAULT = new TaskSort(Field.CREATED_AT, Sort.Direction.DESC);
+    
+    private final Field field;
+    private final Sort.Direction direction;
+    
+    public TaskSort(Field field, Sort.Direction direction) {
+        this.field = field;
+        this.direction = direction;
+    }
+    
+    /**
+     * Parses {@code field[,asc|desc]}; the direction defaults to descending.
+     *
+     * @return {@link #DEFAULT} when no sort was requested
+     */
+    public static TaskSort parse(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return DEFAULT;
+        }
+        String[] parts = sort.split(",");
+        if (parts.length > 2) {
+            throw new BadRequestException("Invalid sort '" + sort + "'");
+        }
+        Sort.Direction direction = Sort.Direction.DESC;
+        if (parts.length == 2) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim().toUpperCase(Locale.ROOT))
+                    .orElseThrow(() -> new BadRequestException("Invalid sort direction '" + parts[1] + "'"));
+        }
+        return new TaskSort(Field.fromProperty(parts[0].trim()), direction);
+    }
+    
+    public Field getField() {
+        return field;
+    }
+    
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+    
+    public boolean isDescending() {
+        return direction.isDescending();
+    }
+    
+    public Sort toSort() {
+        return Sort.by(direction, field.getProperty(), "id");
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TaskSort other)) {
+            return false;
+        }
+        return field == other.field && direction == other.direction;
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * field.hashCode() + direction.hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return field.getProperty() + "," + direction.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,123 @@
+package com.marius.taskapi.dto;
+
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Schema(description = "Task counts of the current user")
+public class TaskStatsResponse {
+    
+    @Schema(description = "Number of tasks")
+    private long total;
+    
+    @Schema(description = "Tasks with a due date before 'asOf' that are not completed")
+    private long overdue;
+    
+    @Schema(description = "Tasks without a category")
+    private long uncategorized;
+    
+    @Schema(description = "Tasks per status, including statuses without tasks")
+    private Map<TaskStatus, Long> byStatus;
+    
+    @Schema(description = "Tasks per priority, including priorities without tasks")
+    private Map<TaskPriority, Long> byPriority;
+    
+    @Schema(description = "Tasks per category, in category order")
+    private Map<String, Long> byCategory;
+    
+    @Schema(description = "Day the overdue count refers to")
+    private LocalDate asOf;
+    
+    public TaskStatsResponse() {}
+    
+    /**
+     * Adds up the rows of the per status, priority and category counts.
+     */
+    public static TaskStatsResponse of(List<TaskStatsRow> rows, LocalDate asOf) {
+        TaskStatsResponse stats = new TaskStatsResponse();
+        stats.byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            stats.byStatus.put(status, 0L);
+        }
+        stats.byPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            stats.byPriority.put(priority, 0L);
+        }
+        stats.byCategory = new TreeMap<>();
+        stats.asOf = asOf;
+        
+        for (TaskStatsRow row : rows) {
+            stats.total += row.getCount();
+            stats.overdue += row.getOverdue();
+            stats.byStatus.merge(row.getStatus(), row.getCount(), Long::sum);
+            stats.byPriority.merge(row.getPriority(), row.getCount(), Long::sum);
+            if (row.getCategory() == null) {
+                stats.uncategorized += row.getCount();
+            } else {
+                stats.byCategory.merge(row.getCategory(), row.getCount(), Long::sum);
+            }
+        }
+        return stats;
+    }
+    
+    public long getTotal() {
+        return total;
+    }
+    
+    public void setTotal(long total) {
+        this.total = total;
+    }
+    
+    public long getOverdue() {
+        return overdue;
+    }
+    
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+    
+    public long getUncategorized() {
+        return uncategorized;
+    }
+    
+    public void setUncategorized(long uncategorized) {
+        this.uncategorized = uncategorized;
+    }
+    
+    public Map<TaskStatus, Long> getByStatus() {
+        return byStatus;
+    }
+    
+    public void setByStatus(Map<TaskStatus, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+    
+    public Map<TaskPriority, Long> getByPriority() {
+        return byPriority;
+    }
+    
+    public void setByPriority(Map<TaskPriority, Long> byPriority) {
+        this.byPriority = byPriority;
+    }
+    
+    public Map<String, Long> getByCategory() {
+        return byCategory;
+    }
+    
+    public void setByCategory(Map<String, Long> byCategory) {
+        this.byCategory = byCategory;
+    }
+    
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+    
+    public void setAsOf(LocalDate asOf) {
+        this.asOf = asOf;
+    }
+}
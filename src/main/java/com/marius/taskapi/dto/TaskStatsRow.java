@@ -0,0 +1,48 @@
+package com.marius.taskapi.dto;
+
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+
+/**
+ * Number of a user's tasks sharing one status, priority and category, and how
+ * many of them are overdue. A user's rows add up to the whole task list.
+ */
+public class TaskStatsRow {
+    
+    private final TaskStatus status;
+    private final TaskPriority priority;
+    private final String category;
+    private final long count;
+    private final long overdue;
+    
+    public TaskStatsRow(TaskStatus status, TaskPriority priority, String category, Long count, Long overdue) {
+        this.status = status;
+        this.priority = priority;
+        this.category = category;
+        this.count = count != null ? count : 0;
+        this.overdue = overdue != null ? overdue : 0;
+    }
+    
+    public TaskStatus getStatus() {
+        return status;
+    }
+    
+    public TaskPriority getPriority() {
+        return priority;
+    }
+    
+    /**
+     * @return the category, or {@code null} for tasks without one
+     */
+    public String getCategory() {
+        return category;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public long getOverdue() {
+        return overdue;
+    }
+}
@@ -0,0 +1,127 @@
+package com.marius.taskapi.event;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.marius.taskapi.config.SecondLevelCacheConfig;
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.model.Task;
+import com.marius.taskapi.model.TaskDeletion;
+import com.marius.taskapi.repository.TaskDeletionRepository;
+import com.marius.taskapi.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns task changes made by other writers of the database, such as the
+ * reactive application or another instance of this one, into local
+ * {@link TaskChangedEvent}s, so the list and stats caches, the search index and
+ * the live update streams see them too.
+ * <p>
+ * Every few seconds the feed reads the tasks updated and the tombstones written
+ * since the last poll, reaching back by the commit lag so that late commits are
+ * not missed. Changes this instance already published are skipped by version.
+ * For the rest, the task's second-level cache entry and the cached list queries
+ * are evicted before the event is published. A change can be seen twice, so
+ * listeners must be idempotent, which evictions and index updates are.
+ */
+@Component
+@ConditionalOnProperty(name = "task.change-feed.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskChangeFeed {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeFeed.class);
+    
+    // Version recorded for a deleted task; newer than any real version
+    private static final long DELETED = Long.MAX_VALUE;
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private TaskDeletionRepository taskDeletionRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    private final Duration commitLag;
+    
+    // Latest version of each recently changed task that has been published locally
+    private final Cache<Long, Long> published;
+    
+    // Only touched by the polling thread
+    private LocalDateTime watermark = LocalDateTime.now();
+    
+    public TaskChangeFeed(
+            @Value("${task.changes.commit-lag-seconds:5}") long commitLagSeconds,
+            @Value("${task.change-feed.max-tracked:100000}") long maxTracked) {
+        this.commitLag = Duration.ofSeconds(commitLagSeconds);
+        // Entries only need to outlive the window a poll reaches back over
+        this.published = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterWrite(commitLag.multipliedBy(10).plusMinutes(5))
+                .build();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        long version = event.getType() == TaskChangedEvent.Type.DELETED ? DELETED : event.getTask().getVersion();
+        published.asMap().merge(event.getTaskId(), version, Math::max);
+    }
+    
+    @Scheduled(fixedDelayString = "${task.change-feed.poll-seconds:5}", timeUnit = TimeUnit.SECONDS)
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = watermark.minus(commitLag);
+        List<TaskResponse> changed = taskRepository.findAllChangedSince(since);
+        List<TaskDeletion> deleted = taskDeletionRepository.findByDeletedAtAfter(since);
+        watermark = now;
+        
+        int external = 0;
+        for (TaskResponse task : changed) {
+            if (isNew(task.getId(), task.getVersion())) {
+                evict(task.getId());
+                eventPublisher.publishEvent(task.getVersion() == 0
+                        ? TaskChangedEvent.created(task)
+                        : TaskChangedEvent.updated(task));
+                external++;
+            }
+        }
+        for (TaskDeletion deletion : deleted) {
+            if (isNew(deletion.getTaskId(), DELETED)) {
+                evict(deletion.getTaskId());
+                eventPublisher.publishEvent(TaskChangedEvent.deleted(deletion.getTaskId(), deletion.getUserId()));
+                external++;
+            }
+        }
+        if (external > 0) {
+            // Cached list queries are only invalidated by writes through Hibernate
+            entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class)
+                    .evictQueryRegion(SecondLevelCacheConfig.TASK_LISTS_REGION);
+            log.debug("Published {} task changes made by other writers", external);
+        }
+    }
+    
+    private boolean isNew(Long taskId, long version) {
+        Long known = published.getIfPresent(taskId);
+        return known == null || known < version;
+    }
+    
+    private void evict(Long taskId) {
+        entityManagerFactory.getCache().evict(Task.class, taskId);
+    }
+}
@@ -0,0 +1,60 @@
+package com.marius.taskapi.event;
+
+import com.marius.taskapi.dto.TaskResponse;
+
+/**
+ * Published by {@code TaskService} whenever a task is created, updated or deleted.
+ * Listeners that touch anything outside the database should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public class TaskChangedEvent {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+    
+    private final Type type;
+    private final Long taskId;
+    private final Long userId;
+    private final TaskResponse task;
+    
+    private TaskChangedEvent(Type type, Long taskId, Long userId, TaskResponse task) {
+        this.type = type;
+        this.taskId = taskId;
+        this.userId = userId;
+        this.task = task;
+    }
+    
+    public static TaskChangedEvent created(TaskResponse task) {
+        return new TaskChangedEvent(Type.CREATED, task.getId(), task.getUserId(), task);
+    }
+    
+    public static TaskChangedEvent updated(TaskResponse task) {
+        return new TaskChangedEvent(Type.UPDATED, task.getId(), task.getUserId(), task);
+    }
+    
+    public static TaskChangedEvent deleted(Long taskId, Long userId) {
+        return new TaskChangedEvent(Type.DELETED, taskId, userId, null);
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    /**
+     * @return the task as it was committed, or {@code null} for {@link Type#DELETED}
+     */
+    public TaskResponse getTask() {
+        return task;
+    }
+}
@@ -0,0 +1,272 @@
+package com.marius.taskapi.event;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed task changes to the owner's open Server-Sent Event streams.
+ * <p>
+ * An idle subscriber is only an async request and a map entry; no thread is
+ * held. Events are written by a small, fixed pool of dispatch threads, so a
+ * commit never waits on a client's socket. Each subscriber buffers at most
+ * {@code task.stream.queue-capacity} pending changes, keeping only the latest
+ * change per task. A subscriber whose buffer overflows is disconnected, and
+ * catches up through GET /api/tasks/changes when it reconnects.
+ */
+@Component
+public class TaskEventBus implements MeterBinder {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskEventBus.class);
+    
+    private final Map<Long, Deque<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Executor dispatcher;
+    private final int queueCapacity;
+    private final int maxPerUser;
+    private final long timeoutMillis;
+    
+    @Autowired
+    public TaskEventBus(
+            @Value("${task.stream.dispatch-threads:4}") int dispatchThreads,
+            @Value("${task.stream.queue-capacity:256}") int queueCapacity,
+            @Value("${task.stream.max-per-user:5}") int maxPerUser,
+            @Value("${task.stream.timeout-minutes:30}") long timeoutMinutes) {
+        this(newDispatcher(dispatchThreads), queueCapacity, maxPerUser, Duration.ofMinutes(timeoutMinutes).toMillis());
+    }
+    
+    TaskEventBus(Executor dispatcher, int queueCapacity, int maxPerUser, long timeoutMillis) {
+        this.dispatcher = dispatcher;
+        this.queueCapacity = queueCapacity;
+        this.maxPerUser = maxPerUser;
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    private static ExecutorService newDispatcher(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        // At most one drain task per subscriber is queued at any time
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(100_000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "task-stream-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+    
+    /**
+     * Opens a stream of the user's task changes. The stream ends after the
+     * configured timeout, and clients are expected to reconnect. If the user
+     * already has the maximum number of streams open, the oldest one is closed.
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        Deque<Subscriber> own = subscribers.computeIfAbsent(userId, id -> new ConcurrentLinkedDeque<>());
+        own.addLast(subscriber);
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        
+        while (own.size() > maxPerUser) {
+            Subscriber oldest = own.peekFirst();
+            if (oldest == null || oldest == subscriber) {
+                break;
+            }
+            oldest.close();
+        }
+        return emitter;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Deque<Subscriber> own = subscribers.get(event.getUserId());
+        if (own != null) {
+            for (Subscriber subscriber : own) {
+                subscriber.offer(event);
+            }
+        }
+    }
+    
+    /**
+     * Sends a comment line to every stream, which keeps proxies from closing idle
+     * connections and lets the server notice clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${task.stream.heartbeat-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void heartbeat() {
+        for (Deque<Subscriber> own : subscribers.values()) {
+            for (Subscriber subscriber : own) {
+                subscriber.ping();
+            }
+        }
+    }
+    
+    int subscriberCount(Long userId) {
+        Deque<Subscriber> own = subscribers.get(userId);
+        return own != null ? own.size() : 0;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tasks.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open task change streams")
+                .register(registry);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(own -> own.forEach(Subscriber::close));
+        if (dispatcher instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+    
+    private void remove(Subscriber subscriber) {
+        Deque<Subscriber> own = subscribers.get(subscriber.userId);
+        if (own != null && own.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.userId, (id, deque) -> deque.isEmpty() ? null : deque);
+        }
+    }
+    
+    private final class Subscriber {
+        
+        private final Long userId;
+        private final SseEmitter emitter;
+        // Latest pending change per task id, oldest first; guarded by this
+        private final LinkedHashMap<Long, TaskChangedEvent> pending = new LinkedHashMap<>();
+        private boolean pingPending;
+        private boolean draining;
+        private boolean closed;
+        
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+        
+        void offer(TaskChangedEvent event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                // Re-inserting moves the task to the end, behind changes it did not overtake
+                pending.remove(event.getTaskId());
+                pending.put(event.getTaskId(), event);
+                if (pending.size() > queueCapacity) {
+                    log.debug("Disconnecting slow task stream of user {}", userId);
+                    closeLocked();
+                    return;
+                }
+                scheduleLocked();
+            }
+        }
+        
+        void ping() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                pingPending = true;
+                scheduleLocked();
+            }
+        }
+        
+        void close() {
+            synchronized (this) {
+                closeLocked();
+            }
+        }
+        
+        private void closeLocked() {
+            if (!closed) {
+                closed = true;
+                pending.clear();
+                remove(this);
+                emitter.complete();
+            }
+        }
+        
+        private void scheduleLocked() {
+            if (draining) {
+                return;
+            }
+            draining = true;
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining = false;
+                closeLocked();
+            }
+        }
+        
+        /**
+         * Writes pending events until none are left. Sends happen outside the lock,
+         * so new events can be offered while a write is blocked on the socket.
+         */
+        private void drain() {
+            while (true) {
+                TaskChangedEvent event = null;
+                boolean ping;
+                synchronized (this) {
+                    if (closed) {
+                        draining = false;
+                        return;
+                    }
+                    Iterator<TaskChangedEvent> iterator = pending.values().iterator();
+                    if (iterator.hasNext()) {
+                        event = iterator.next();
+                        iterator.remove();
+                    }
+                    ping = event == null && pingPending;
+                    pingPending = false;
+                    if (event == null && !ping) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event != null ? toSse(event) : SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                    return;
+                }
+            }
+        }
+    }
+    
+    private static SseEmitter.SseEventBuilder toSse(TaskChangedEvent event) {
+        Object data = event.getType() == TaskChangedEvent.Type.DELETED
+                ? Map.of("id", event.getTaskId())
+                : event.getTask();
+        return SseEmitter.event()
+                .name(event.getType().name().toLowerCase())
+                .data(data, MediaType.APPLICATION_JSON);
+    }
+}
@@ -1,17 +1,37 @@
 package com.marius.taskapi.model;
 
+import com.marius.taskapi.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "tasks")
-public class Task {
-    
+@Table(name = "tasks", indexes = {
+    // Mirrors db/migration/common/V2__add_task_indexes.sql, which owns the schema
+    @Index(name = "idx_tasks_user_created_id", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_tasks_user_status", columnList = "user_id, status, created_at, id"),
+    @Index(name = "idx_tasks_user_priority", columnList = "user_id, priority, created_at, id"),
+    @Index(name = "idx_tasks_user_category", columnList = "user_id, category, created_at, id"),
+    @Index(name = "idx_tasks_user_due_date", columnList = "user_id, due_date"),
+    @Index(name = "idx_tasks_user_updated", columnList = "user_id, updated_at"),
+    @Index(name = "idx_tasks_updated", columnList = "updated_at")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TASKS_REGION)
+// Updates only set the changed columns, so a status change does not rewrite the description
+@DynamicUpdate
+public class Task implements TaskFields {
+    
+    // Pooled sequence (db/migration/common/V4) so bulk inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank
@@ -47,15 +67,23 @@ public class Task {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
+    // Checked and incremented by every UPDATE; a concurrent change makes the write fail
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
+    // Timestamps are kept at the precision the database stores, so an entity that was
+    // just written or served from the second-level cache matches a freshly read row
+    // (cursors and ETags are derived from them)
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        updatedAt = createdAt;
     }
     
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
     
     // Constructors
@@ -147,5 +175,12 @@ public class Task {
     public void setUser(User user) {
         this.user = user;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
-
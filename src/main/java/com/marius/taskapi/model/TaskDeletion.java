@@ -0,0 +1,49 @@
+package com.marius.taskapi.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Record that a task was deleted, kept for a limited time so that clients
+ * syncing with GET /api/tasks/changes learn about the deletion.
+ */
+@Entity
+@Table(name = "task_deletions", indexes = {
+    // Mirrors db/migration/common/V7__create_task_deletions.sql, which owns the schema
+    @Index(name = "idx_task_deletions_user_deleted", columnList = "user_id, deleted_at"),
+    @Index(name = "idx_task_deletions_deleted", columnList = "deleted_at")
+})
+public class TaskDeletion {
+    
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    
+    // Constructors
+    public TaskDeletion() {}
+    
+    public TaskDeletion(Long taskId, Long userId, LocalDateTime deletedAt) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+    
+    // Getters
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
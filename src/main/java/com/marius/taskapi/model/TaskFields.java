@@ -0,0 +1,35 @@
+package com.marius.taskapi.model;
+
+import java.time.LocalDate;
+
+/**
+ * The fields of a task that clients set. Implemented by the {@link Task} entity
+ * and by {@code TaskResponse}, so that {@code TaskRules} can create and patch
+ * tasks the same way for the JPA and the R2DBC services.
+ */
+public interface TaskFields {
+    
+    String getTitle();
+    
+    void setTitle(String title);
+    
+    String getDescription();
+    
+    void setDescription(String description);
+    
+    TaskStatus getStatus();
+    
+    void setStatus(TaskStatus status);
+    
+    TaskPriority getPriority();
+    
+    void setPriority(TaskPriority priority);
+    
+    LocalDate getDueDate();
+    
+    void setDueDate(LocalDate dueDate);
+    
+    String getCategory();
+    
+    void setCategory(String category);
+}
@@ -0,0 +1,355 @@
+package com.marius.taskapi.reactive;
+
+import com.marius.taskapi.dto.TaskFilter;
+import com.marius.taskapi.dto.TaskPatchRequest;
+import com.marius.taskapi.dto.TaskRequest;
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.dto.TaskSort;
+import com.marius.taskapi.exception.BadRequestException;
+import com.marius.taskapi.exception.ConflictException;
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+import com.marius.taskapi.repository.TaskPredicates;
+import com.marius.taskapi.security.UserPrincipal;
+import com.marius.taskapi.service.TaskRules;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class R2dbcTaskService implements ReactiveTaskService {
+    
+    private static final String SELECT = "SELECT id, title, description, status, priority, due_date, category, "
+            + "created_at, updated_at, user_id, version FROM tasks ";
+    
+    // Same block size as the pooled generator on Task.id (db/migration/common/V4)
+    private static final int ID_ALLOCATION_SIZE = 50;
+    
+    private static final int FETCH_SIZE = 500;
+    
+    @Autowired
+    private DatabaseClient databaseClient;
+    
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+    
+    private final Object idLock = new Object();
+    private long nextId;
+    private long maxId = -1;
+    
+    @Override
+    public Mono<TaskResponse> createTask(TaskRequest request, UserPrincipal principal) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        return nextId().flatMap(id -> {
+            TaskResponse task = new TaskResponse();
+            task.setId(id);
+            TaskRules.initialize(task, request);
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            task.setUserId(principal.getId());
+            task.setVersion(0L);
+            
+            GenericExecuteSpec insert = databaseClient.sql("INSERT INTO tasks (id, title, description, status, "
+                    + "priority, due_date, category, created_at, updated_at, user_id) VALUES (:id, :title, "
+                    + ":description, :status, :priority, :dueDate, :category, :createdAt, :updatedAt, :userId)")
+                    .bind("id", id)
+                    .bind("title", task.getTitle())
+                    .bind("status", task.getStatus().name())
+                    .bind("priority", task.getPriority().name())
+                    .bind("createdAt", now)
+                    .bind("updatedAt", now)
+                    .bind("userId", principal.getId());
+            insert = bind(insert, "description", task.getDescription(), String.class);
+            insert = bind(insert, "dueDate", task.getDueDate(), LocalDate.class);
+            insert = bind(insert, "category", task.getCategory(), String.class);
+            return insert.then().thenReturn(task);
+        });
+    }
+    
+    @Override
+    public Flux<TaskResponse> getTasks(TaskFilter filter, Integer limit, UserPrincipal principal) {
+        if (limit != null && limit < 1) {
+            return Flux.error(new BadRequestException("limit must be at least 1"));
+        }
+        
+        SqlPredicates predicates = new SqlPredicates();
+        StringBuilder sql = new StringBuilder(SELECT).append("WHERE ")
+                .append(predicates.matching(principal.getId(), filter));
+        
+        // Same order as the servlet API: NULLs sort as the highest value, id breaks ties
+        TaskSort sort = filter.getSort();
+        String direction = sort.isDescending() ? "DESC" : "ASC";
+        sql.append(" ORDER BY ").append(column(sort.getField())).append(' ').append(direction)
+                .append(", id ").append(direction);
+        if (limit != null) {
+            sql.append(" LIMIT :limit");
+            predicates.params.put("limit", limit);
+        }
+        
+        GenericExecuteSpec query = databaseClient.sql(sql.toString())
+                .filter(statement -> statement.fetchSize(FETCH_SIZE));
+        for (Map.Entry<String, Object> param : predicates.params.entrySet()) {
+            query = query.bind(param.getKey(), param.getValue());
+        }
+        return query.map(R2dbcTaskService::toResponse).all();
+    }
+    
+    @Override
+    public Mono<TaskResponse> getTaskById(Long id, UserPrincipal principal) {
+        return findOwnedTask(id, principal, "access");
+    }
+    
+    @Override
+    public Mono<TaskResponse> updateTask(Long id, TaskRequest request, Predicate<TaskResponse> precondition,
+                                         UserPrincipal principal) {
+        return patchTask(id, TaskRules.toPatch(request), precondition, principal);
+    }
+    
+    /**
+     * Same rules as {@link com.marius.taskapi.service.TaskService#patchTask}: the
+     * UPDATE only sets the changed columns and only applies to the version that
+     * was read. If a concurrent update got there first, the task is read again
+     * and the patch retried, unless that update changed a field the patch sets.
+     */
+    @Override
+    public Mono<TaskResponse> patchTask(Long id, TaskPatchRequest patch, Predicate<TaskResponse> precondition,
+                                        UserPrincipal principal) {
+        AtomicReference<TaskResponse> firstSeen = new AtomicReference<>();
+        return Mono.defer(() -> findOwnedTask(id, principal, "update")
+                        .flatMap(current -> applyPatch(current, patch, precondition, firstSeen)))
+                .retryWhen(Retry.max(TaskRules.MAX_UPDATE_ATTEMPTS - 1)
+                        .filter(OptimisticLockingFailureException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> TaskRules.concurrentlyModified()));
+    }
+    
+    private Mono<TaskResponse> applyPatch(TaskResponse current, TaskPatchRequest patch,
+                                          Predicate<TaskResponse> precondition,
+                                          AtomicReference<TaskResponse> firstSeen) {
+        TaskRules.checkPrecondition(precondition, current);
+        TaskResponse seen = firstSeen.get();
+        if (seen == null) {
+            firstSeen.set(current);
+        }
+        String conflict = TaskRules.conflict(patch, seen, current);
+        if (conflict != null) {
+            return Mono.error(new ConflictException(conflict));
+        }
+        List<String> changed = TaskRules.changedFields(patch, current);
+        if (changed.isEmpty()) {
+            return Mono.just(current);
+        }
+        
+        TaskResponse updated = copyOf(current);
+        TaskRules.applyPatch(updated, patch);
+        updated.setUpdatedAt(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        updated.setVersion(current.getVersion() + 1);
+        
+        StringBuilder sql = new StringBuilder("UPDATE tasks SET ");
+        for (String field : changed) {
+            sql.append(column(field)).append(" = :").append(field).append(", ");
+        }
+        sql.append("updated_at = :updatedAt, version = :newVersion WHERE id = :id AND version = :version");
+        GenericExecuteSpec update = databaseClient.sql(sql.toString())
+                .bind("updatedAt", updated.getUpdatedAt())
+                .bind("newVersion", updated.getVersion())
+                .bind("id", current.getId())
+                .bind("version", current.getVersion());
+        for (String field : changed) {
+            update = update.bind(field, value(field, updated));
+        }
+        return update.fetch().rowsUpdated()
+                .flatMap(rows -> rows == 0
+                        ? Mono.error(new OptimisticLockingFailureException(
+                                "Task " + current.getId() + " was updated concurrently"))
+                        : Mono.just(updated));
+    }
+    
+    @Override
+    public Mono<Void> deleteTask(Long id, UserPrincipal principal) {
+        // Tombstone for GET /api/tasks/changes on the servlet application (see TaskDeletionLog).
+        // A concurrent delete of the same task skips it; the DELETE decides who succeeded
+        Mono<Void> delete = databaseClient.sql("INSERT INTO task_deletions (task_id, user_id, deleted_at) "
+                        + "SELECT id, user_id, :deletedAt FROM tasks WHERE id = :id AND user_id = :userId "
+                        + "ON CONFLICT DO NOTHING")
+                .bind("deletedAt", LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .bind("id", id)
+                .bind("userId", principal.getId())
+                .fetch()
+                .rowsUpdated()
+                .then(databaseClient.sql("DELETE FROM tasks WHERE id = :id AND user_id = :userId")
+                        .bind("id", id)
+                        .bind("userId", principal.getId())
+                        .fetch()
+                        .rowsUpdated())
+                .flatMap(deleted -> deleted == 0 ? notAccessible(id, "delete") : Mono.empty());
+        return delete.as(transactionalOperator::transactional);
+    }
+    
+    /**
+     * Loads a task by primary key and only then checks ownership, so a foreign
+     * task is reported as 403 and a missing one as 404, as in TaskService.
+     */
+    private Mono<TaskResponse> findOwnedTask(Long id, UserPrincipal principal, String action) {
+        return databaseClient.sql(SELECT + "WHERE id = :id")
+                .bind("id", id)
+                .map(R2dbcTaskService::toResponse)
+                .one()
+                .switchIfEmpty(Mono.error(() -> TaskRules.notAccessible(id, false, action)))
+                .doOnNext(task -> TaskRules.checkOwner(id, task.getUserId(), principal, action));
+    }
+    
+    /**
+     * Hands out ids from blocks of the tasks_seq sequence the same way Hibernate's
+     * pooled optimizer does, so ids never collide with those of the JPA application.
+     */
+    private Mono<Long> nextId() {
+        synchronized (idLock) {
+            if (nextId <= maxId) {
+                return Mono.just(nextId++);
+            }
+        }
+        return databaseClient.sql("SELECT nextval('tasks_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(hi -> {
+                    synchronized (idLock) {
+                        nextId = Math.max(1, hi - ID_ALLOCATION_SIZE + 1);
+                        maxId = hi;
+                        return nextId++;
+                    }
+                });
+    }
+    
+    private <T> Mono<T> notAccessible(Long id, String action) {
+        return databaseClient.sql("SELECT COUNT(*) FROM tasks WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(count -> Mono.error(TaskRules.notAccessible(id, count > 0, action)));
+    }
+    
+    private static GenericExecuteSpec bind(GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+    
+    private static String column(String field) {
+        return field.equals("dueDate") ? "due_date" : field;
+    }
+    
+    private static Object value(String field, TaskResponse task) {
+        return switch (field) {
+            case "title" -> task.getTitle();
+            case "description" -> task.getDescription();
+            case "status" -> task.getStatus().name();
+            case "priority" -> task.getPriority().name();
+            case "dueDate" -> task.getDueDate();
+            case "category" -> task.getCategory();
+            default -> throw new IllegalArgumentException("Unknown task field: " + field);
+        };
+    }
+    
+    private static TaskResponse copyOf(TaskResponse task) {
+        return new TaskResponse(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getPriority(), task.getDueDate(), task.getCategory(), task.getCreatedAt(),
+                task.getUpdatedAt(), task.getUserId(), task.getVersion());
+    }
+    
+    private static String column(TaskSort.Field field) {
+        return switch (field) {
+            case CREATED_AT -> "created_at";
+            case UPDATED_AT -> "updated_at";
+            case DUE_DATE -> "due_date";
+            case TITLE -> "title";
+        };
+    }
+    
+    /**
+     * Task list conditions as SQL, collecting their bind parameters. Each
+     * condition occurs at most once per query, so parameter names are fixed.
+     */
+    private static final class SqlPredicates implements TaskPredicates<String> {
+        
+        private final Map<String, Object> params = new LinkedHashMap<>();
+        
+        @Override
+        public String ownedBy(Long userId) {
+            params.put("userId", userId);
+            return "user_id = :userId";
+        }
+        
+        @Override
+        public String statusIn(Set<TaskStatus> statuses) {
+            params.put("statuses", statuses.stream().map(Enum::name).toList());
+            return "status IN (:statuses)";
+        }
+        
+        @Override
+        public String priorityIn(Set<TaskPriority> priorities) {
+            params.put("priorities", priorities.stream().map(Enum::name).toList());
+            return "priority IN (:priorities)";
+        }
+        
+        @Override
+        public String inCategory(String category) {
+            params.put("category", category);
+            return "category = :category";
+        }
+        
+        @Override
+        public String dueOn(LocalDate date) {
+            params.put("dueDate", date);
+            return "due_date = :dueDate";
+        }
+        
+        @Override
+        public String dueOnOrAfter(LocalDate date) {
+            params.put("dueFrom", date);
+            return "due_date >= :dueFrom";
+        }
+        
+        @Override
+        public String dueOnOrBefore(LocalDate date) {
+            params.put("dueTo", date);
+            return "due_date <= :dueTo";
+        }
+        
+        @Override
+        public String and(String left, String right) {
+            return left + " AND " + right;
+        }
+    }
+    
+    private static TaskResponse toResponse(Readable row) {
+        return new TaskResponse(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                TaskStatus.valueOf(row.get("status", String.class)),
+                TaskPriority.valueOf(row.get("priority", String.class)),
+                row.get("due_date", LocalDate.class),
+                row.get("category", String.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("user_id", Long.class),
+                row.get("version", Long.class));
+    }
+}
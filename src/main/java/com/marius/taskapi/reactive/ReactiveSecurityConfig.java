@@ -0,0 +1,103 @@
+package com.marius.taskapi.reactive;
+
+import com.marius.taskapi.security.JwtTokenProvider;
+import com.marius.taskapi.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+
+/**
+ * Bearer-token security for the reactive variant, equivalent to
+ * {@link com.marius.taskapi.security.JwtAuthenticationFilter}: tokens issued
+ * by the main application are accepted as long as they still name an
+ * existing user with the same id.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReactiveSecurityConfig.class);
+    
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    
+    @Autowired
+    private DatabaseClient databaseClient;
+    
+    @Bean
+    public ReactiveAuthenticationManager jwtAuthenticationManager() {
+        return authentication -> {
+            String token = (String) authentication.getCredentials();
+            Claims claims;
+            try {
+                claims = tokenProvider.parseClaims(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Rejected invalid JWT: {}", e.getMessage());
+                return Mono.error(new BadCredentialsException("Invalid token", e));
+            }
+            
+            String username = claims.getSubject();
+            Long tokenUserId = tokenProvider.getUserId(claims);
+            return databaseClient.sql("SELECT id FROM users WHERE username = :username")
+                    .bind("username", username)
+                    .map(row -> row.get("id", Long.class))
+                    .one()
+                    // A token must not carry over to a different account that later took the same username
+                    .filter(userId -> tokenUserId == null || tokenUserId.equals(userId))
+                    .switchIfEmpty(Mono.error(new BadCredentialsException("Token does not match an existing user")))
+                    .map(userId -> {
+                        UserPrincipal principal = new UserPrincipal(userId, username, null, Collections.emptyList());
+                        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+                    });
+        };
+    }
+    
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        // Same status as the servlet application for missing or rejected tokens
+        ServerAuthenticationEntryPoint entryPoint = new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN);
+        
+        AuthenticationWebFilter jwtFilter = new AuthenticationWebFilter(jwtAuthenticationManager());
+        jwtFilter.setServerAuthenticationConverter(exchange -> Mono
+                .justOrEmpty(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION))
+                .filter(header -> header.startsWith(BEARER_PREFIX))
+                .map(header -> new UsernamePasswordAuthenticationToken(null, header.substring(BEARER_PREFIX.length()))));
+        jwtFilter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(entryPoint));
+        
+        return http.csrf(csrf -> csrf.disable())
+                .httpBasic(httpBasic -> httpBasic.disable())
+                .formLogin(formLogin -> formLogin.disable())
+                .logout(logout -> logout.disable())
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(entryPoint))
+                .authorizeExchange(exchanges -> exchanges.anyExchange().authenticated())
+                .addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.marius.taskapi.reactive;
+
+import com.marius.taskapi.security.JwtTokenProvider;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Non-blocking variant of the task API: the {@code /api/tasks} endpoints served
+ * by WebFlux on Netty, with R2DBC in place of JPA. It shares the DTOs, sorting,
+ * filtering and token format with {@link com.marius.taskapi.TaskApiApplication}
+ * and the same database; users register and log in through the main application.
+ * <p>
+ * JDBC is only used by Flyway to migrate the schema on startup. Every bean in
+ * this package is conditional on a reactive web application, so the servlet
+ * application ignores them when it scans {@code com.marius.taskapi}.
+ */
+@SpringBootApplication(
+        scanBasePackages = "com.marius.taskapi.reactive",
+        exclude = {HibernateJpaAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import(JwtTokenProvider.class)
+public class ReactiveTaskApiApplication {
+    
+    /**
+     * Tomcat is on the classpath for the servlet application and would otherwise
+     * be preferred; Netty serves all connections from a few event-loop threads.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+    
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveTaskApiApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+}
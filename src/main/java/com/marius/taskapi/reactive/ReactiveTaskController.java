@@ -0,0 +1,125 @@
+package com.marius.taskapi.reactive;
+
+import com.marius.taskapi.controller.TaskETags;
+import com.marius.taskapi.dto.TaskFilter;
+import com.marius.taskapi.dto.TaskPatchRequest;
+import com.marius.taskapi.dto.TaskRequest;
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.dto.TaskSort;
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+import com.marius.taskapi.security.UserPrincipal;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Reactive counterpart of {@link com.marius.taskapi.controller.TaskController}.
+ * The list endpoint streams every matching task instead of returning pages.
+ */
+@RestController
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "*")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaskController {
+    
+    @Autowired
+    private ReactiveTaskService taskService;
+    
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<TaskResponse> createTask(
+            @Valid @RequestBody TaskRequest request,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return taskService.createTask(request, principal);
+    }
+    
+    /**
+     * Streams the matching tasks as NDJSON (the default) or, for
+     * {@code Accept: application/json}, as a JSON array written element by element.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<TaskResponse> getTasks(
+            @RequestParam(required = false) List<TaskStatus> status,
+            @RequestParam(required = false) List<TaskPriority> priority,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        
+        TaskFilter filter = new TaskFilter();
+        filter.setStatuses(status);
+        filter.setPriorities(priority);
+        filter.setCategory(category);
+        filter.setDueDate(dueDate);
+        filter.setDueRange(dueFrom, dueTo);
+        filter.setSort(TaskSort.parse(sort));
+        
+        return taskService.getTasks(filter, limit, principal);
+    }
+    
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TaskResponse>> getTaskById(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return taskService.getTaskById(id, principal).map(ReactiveTaskController::withETag);
+    }
+    
+    /**
+     * With If-Match, the update is only applied if the task still has one of the
+     * given ETags; otherwise the response is 412 and nothing is changed.
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TaskResponse>> updateTask(
+            @PathVariable Long id,
+            @Valid @RequestBody TaskRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return taskService.updateTask(id, request, precondition(ifMatch), principal)
+                .map(ReactiveTaskController::withETag);
+    }
+    
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<TaskResponse>> patchTask(
+            @PathVariable Long id,
+            @Valid @RequestBody TaskPatchRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return taskService.patchTask(id, request, precondition(ifMatch), principal)
+                .map(ReactiveTaskController::withETag);
+    }
+    
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteTask(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal principal) {
+        return taskService.deleteTask(id, principal);
+    }
+    
+    private static Predicate<TaskResponse> precondition(String ifMatch) {
+        return ifMatch != null ? current -> TaskETags.matches(ifMatch, current) : null;
+    }
+    
+    private static ResponseEntity<TaskResponse> withETag(TaskResponse task) {
+        return ResponseEntity.ok()
+                .eTag(TaskETags.of(task))
+                .body(task);
+    }
+}
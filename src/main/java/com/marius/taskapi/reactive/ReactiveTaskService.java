@@ -0,0 +1,43 @@
+package com.marius.taskapi.reactive;
+
+import com.marius.taskapi.dto.TaskFilter;
+import com.marius.taskapi.dto.TaskPatchRequest;
+import com.marius.taskapi.dto.TaskRequest;
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.security.UserPrincipal;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Predicate;
+
+/**
+ * Task operations of {@link com.marius.taskapi.service.TaskService} in
+ * non-blocking form. Both apply {@link com.marius.taskapi.service.TaskRules}
+ * and {@link com.marius.taskapi.repository.TaskPredicates}, so defaults,
+ * ownership, filtering, concurrent update handling and errors are the same.
+ */
+public interface ReactiveTaskService {
+    
+    Mono<TaskResponse> createTask(TaskRequest request, UserPrincipal principal);
+    
+    /**
+     * Streams the user's tasks matching the filter, in the filter's sort order.
+     * Rows are read from the database only as fast as the subscriber requests them.
+     *
+     * @param limit maximum number of tasks to emit, or {@code null} for all of them
+     */
+    Flux<TaskResponse> getTasks(TaskFilter filter, Integer limit, UserPrincipal principal);
+    
+    Mono<TaskResponse> getTaskById(Long id, UserPrincipal principal);
+    
+    /**
+     * @param precondition test on the task before the update, or {@code null} for none
+     */
+    Mono<TaskResponse> updateTask(Long id, TaskRequest request, Predicate<TaskResponse> precondition,
+                                  UserPrincipal principal);
+    
+    Mono<TaskResponse> patchTask(Long id, TaskPatchRequest patch, Predicate<TaskResponse> precondition,
+                                 UserPrincipal principal);
+    
+    Mono<Void> deleteTask(Long id, UserPrincipal principal);
+}
@@ -0,0 +1,30 @@
+package com.marius.taskapi.repository;
+
+import com.marius.taskapi.model.TaskDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskDeletionRepository extends JpaRepository<TaskDeletion, Long>, TaskDeletionRepositoryCustom {
+    
+    @Query("SELECT d FROM TaskDeletion d WHERE d.userId = :userId AND d.deletedAt > :since " +
+           "ORDER BY d.deletedAt, d.taskId")
+    List<TaskDeletion> findDeletedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since,
+                                        Pageable pageable);
+    
+    List<TaskDeletion> findByUserIdAndDeletedAtOrderByTaskId(Long userId, LocalDateTime deletedAt);
+    
+    List<TaskDeletion> findByDeletedAtAfter(LocalDateTime since);
+    
+    @Modifying
+    @Query("DELETE FROM TaskDeletion d WHERE d.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,16 @@
+package com.marius.taskapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface TaskDeletionRepositoryCustom {
+    
+    /**
+     * Writes a tombstone for each of the given tasks that still exists and
+     * belongs to the user, in one statement. Tasks that already have one are
+     * skipped: two requests deleting the same task both get here, and the
+     * delete that follows decides which of them succeeded. Must run before the
+     * tasks are deleted, in the same transaction.
+     */
+    int insertForTasks(Collection<Long> taskIds, Long userId, LocalDateTime deletedAt);
+}
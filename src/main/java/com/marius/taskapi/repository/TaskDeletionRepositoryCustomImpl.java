@@ -0,0 +1,28 @@
+package com.marius.taskapi.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+class TaskDeletionRepositoryCustomImpl implements TaskDeletionRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public int insertForTasks(Collection<Long> taskIds, Long userId, LocalDateTime deletedAt) {
+        // Native for ON CONFLICT; the query space keeps Hibernate from clearing every cache region
+        return entityManager.createNativeQuery("INSERT INTO task_deletions (task_id, user_id, deleted_at) "
+                        + "SELECT id, user_id, :deletedAt FROM tasks WHERE id IN (:taskIds) AND user_id = :userId "
+                        + "ON CONFLICT DO NOTHING")
+                .setParameter("taskIds", taskIds)
+                .setParameter("userId", userId)
+                .setParameter("deletedAt", deletedAt)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("task_deletions")
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,60 @@
+package com.marius.taskapi.repository;
+
+import com.marius.taskapi.dto.TaskFilter;
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * The conditions a task list query can be built from, in some query language
+ * {@code P}. {@link #matching} decides which of them a {@link TaskFilter} needs,
+ * so the JPA ({@link TaskSpecifications}) and the R2DBC queries apply the
+ * same filters.
+ */
+public interface TaskPredicates<P> {
+    
+    P ownedBy(Long userId);
+    
+    P statusIn(Set<TaskStatus> statuses);
+    
+    P priorityIn(Set<TaskPriority> priorities);
+    
+    P inCategory(String category);
+    
+    P dueOn(LocalDate date);
+    
+    P dueOnOrAfter(LocalDate date);
+    
+    P dueOnOrBefore(LocalDate date);
+    
+    P and(P left, P right);
+    
+    /**
+     * Combines the user's ownership with only the predicates that were actually
+     * requested, so every filter combination gets its own tight statement.
+     */
+    default P matching(Long userId, TaskFilter filter) {
+        P predicate = ownedBy(userId);
+        if (!filter.getStatuses().isEmpty()) {
+            predicate = and(predicate, statusIn(filter.getStatuses()));
+        }
+        if (!filter.getPriorities().isEmpty()) {
+            predicate = and(predicate, priorityIn(filter.getPriorities()));
+        }
+        if (filter.getCategory() != null) {
+            predicate = and(predicate, inCategory(filter.getCategory()));
+        }
+        if (filter.getDueDate() != null) {
+            predicate = and(predicate, dueOn(filter.getDueDate()));
+        }
+        if (filter.getDueFrom() != null) {
+            predicate = and(predicate, dueOnOrAfter(filter.getDueFrom()));
+        }
+        if (filter.getDueTo() != null) {
+            predicate = and(predicate, dueOnOrBefore(filter.getDueTo()));
+        }
+        return predicate;
+    }
+}
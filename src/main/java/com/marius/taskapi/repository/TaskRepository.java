@@ -1,43 +1,135 @@
 package com.marius.taskapi.repository;
 
+import com.marius.taskapi.config.SecondLevelCacheConfig;
+import com.marius.taskapi.dto.TaskListVersion;
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.dto.TaskStatsRow;
 import com.marius.taskapi.model.Task;
-import com.marius.taskapi.model.TaskPriority;
-import com.marius.taskapi.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskRepositoryCustom {
     
-    List<Task> findByUserId(Long userId);
+    List<Task> findByIdInAndUserId(Collection<Long> ids, Long userId);
     
-    List<Task> findByUserIdAndStatus(Long userId, TaskStatus status);
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :ids AND t.user.id = :userId")
+    List<Long> findOwnedIds(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
     
-    List<Task> findByUserIdAndPriority(Long userId, TaskPriority priority);
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
     
-    List<Task> findByUserIdAndCategory(Long userId, String category);
+    int EXPORT_FETCH_SIZE = 500;
     
-    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND " +
-           "(:status IS NULL OR t.status = :status) AND " +
-           "(:priority IS NULL OR t.priority = :priority) AND " +
-           "(:category IS NULL OR t.category = :category) AND " +
-           "(:dueDate IS NULL OR t.dueDate = :dueDate)")
-    List<Task> findByUserIdWithFilters(
+    /**
+     * Select clause of the list queries. Rows are read straight into responses,
+     * so nothing enters the persistence context, and t.user.id resolves to the
+     * user_id column without touching the users table.
+     */
+    String RESPONSE_SELECT = "SELECT new com.marius.taskapi.dto.TaskResponse(" +
+           "t.id, t.title, t.description, t.status, t.priority, t.dueDate, t.category, " +
+           "t.createdAt, t.updatedAt, t.user.id, t.version) FROM Task t ";
+    
+    // Unfiltered keyset pages, ordered by (createdAt DESC, id DESC). The "After"
+    // variant continues strictly below the last row of the previous page, so every
+    // page is a bounded index range scan regardless of how deep the client has paged.
+    // Filtered and custom-sorted lists are built with TaskSpecifications.
+    // Later pages are kept in the query cache until the next write to the tasks
+    // table; the first rows of each user are cached by TaskListCache instead.
+    
+    @Query(RESPONSE_SELECT + "WHERE t.user.id = :userId " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskResponse> findPageByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(RESPONSE_SELECT + "WHERE t.user.id = :userId AND " +
+           "(t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.TASK_LISTS_REGION)
+    })
+    List<TaskResponse> findPageByUserIdAfter(
         @Param("userId") Long userId,
-        @Param("status") TaskStatus status,
-        @Param("priority") TaskPriority priority,
-        @Param("category") String category,
-        @Param("dueDate") LocalDate dueDate
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
     );
     
-    @Query("SELECT t FROM Task t WHERE t.user.id = :userId AND " +
-           "(LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    List<Task> searchByUserIdAndKeyword(@Param("userId") Long userId, @Param("keyword") String keyword);
+    /**
+     * Streams every task of a user in id order. Must be consumed inside a
+     * transaction; rows are fetched from the driver in batches of
+     * {@value #EXPORT_FETCH_SIZE}, so memory use does not grow with the result.
+     */
+    @Query(RESPONSE_SELECT + "WHERE t.user.id = :userId ORDER BY t.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    Stream<TaskResponse> streamByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Tasks created or updated after {@code since}, in the order they changed.
+     * A range scan of idx_tasks_user_updated, so the cost follows the number of
+     * changes rather than the number of tasks.
+     */
+    @Query(RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.updatedAt > :since ORDER BY t.updatedAt, t.id")
+    List<TaskResponse> findChangedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since,
+                                        Pageable pageable);
+    
+    @Query(RESPONSE_SELECT + "WHERE t.user.id = :userId AND t.updatedAt = :updatedAt ORDER BY t.id")
+    List<TaskResponse> findChangedAt(@Param("userId") Long userId, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    /**
+     * Tasks of all users changed after {@code since}, for TaskChangeFeed; a
+     * range scan over idx_tasks_updated.
+     */
+    @Query(RESPONSE_SELECT + "WHERE t.updatedAt > :since ORDER BY t.updatedAt, t.id")
+    List<TaskResponse> findAllChangedSince(@Param("since") LocalDateTime since);
+    
+    /**
+     * Count and latest update of a user's tasks, read from idx_tasks_user_updated
+     * without touching the table rows.
+     */
+    @Query("SELECT new com.marius.taskapi.dto.TaskListVersion(COUNT(t), MAX(t.updatedAt)) " +
+           "FROM Task t WHERE t.user.id = :userId")
+    TaskListVersion findListVersion(@Param("userId") Long userId);
+    
+    /**
+     * Task counts per status, priority and category in a single pass over the
+     * user's tasks; the overdue column counts unfinished tasks due before
+     * {@code today}. There are at most a few rows per category, so the per-field
+     * totals are added up in memory.
+     */
+    @Query("SELECT new com.marius.taskapi.dto.TaskStatsRow(t.status, t.priority, t.category, COUNT(t), " +
+           "SUM(CASE WHEN t.dueDate < :today AND t.status <> com.marius.taskapi.model.TaskStatus.COMPLETED " +
+           "THEN 1 ELSE 0 END)) " +
+           "FROM Task t WHERE t.user.id = :userId GROUP BY t.status, t.priority, t.category")
+    List<TaskStatsRow> countStats(@Param("userId") Long userId, @Param("today") LocalDate today);
+    
+    @Query(RESPONSE_SELECT + "WHERE t.id IN :ids")
+    List<TaskResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // PostgreSQL only: search_vector is a generated column created by
+    // db/migration/postgresql, so this query is not available on H2.
+    @Query(value = "SELECT t.id FROM tasks t, websearch_to_tsquery('english', :keyword) q " +
+           "WHERE t.user_id = :userId AND t.search_vector @@ q " +
+           "ORDER BY ts_rank(t.search_vector, q) DESC, t.id DESC " +
+           "OFFSET :offset LIMIT :limit", nativeQuery = true)
+    List<Long> searchRankedIds(
+        @Param("userId") Long userId,
+        @Param("keyword") String keyword,
+        @Param("offset") int offset,
+        @Param("limit") int limit
+    );
 }
-
@@ -0,0 +1,36 @@
+package com.marius.taskapi.repository;
+
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.model.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+    
+    /**
+     * Runs a {@link TaskSpecifications} query as a DTO projection: only the
+     * response columns are selected and no entities are managed. Results are
+     * kept in the query cache until the next write to the tasks table.
+     */
+    List<TaskResponse> findResponses(Specification<Task> spec, Sort sort, int limit);
+    
+    /**
+     * Deletes the user's tasks among the given ids with one statement, without
+     * loading them. After a JPQL delete Hibernate would drop the whole tasks
+     * cache region, so only the deleted tasks' entries and the cached task lists
+     * are evicted, again after commit so that a concurrent read cannot put the
+     * old rows back.
+     *
+     * @return the number of tasks deleted
+     */
+    int deleteOwned(Collection<Long> ids, Long userId);
+    
+    /**
+     * Drops every cached task list query. Hibernate only invalidates them after
+     * writes it executes itself.
+     */
+    void evictListQueries();
+}
@@ -0,0 +1,96 @@
+package com.marius.taskapi.repository;
+
+import com.marius.taskapi.config.SecondLevelCacheConfig;
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    
+    // Query space of the owner-scoped delete. Hibernate clears every cache region
+    // after a native statement without one, and the tasks region after one on the
+    // tasks table, so it names no cached table and evictions are done here
+    private static final String OWNED_DELETE_SPACE = "owned_task_delete";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<TaskResponse> findResponses(Specification<Task> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponse> query = cb.createQuery(TaskResponse.class);
+        Root<Task> root = query.from(Task.class);
+        
+        query.select(cb.construct(TaskResponse.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("description"),
+                root.get("status"),
+                root.get("priority"),
+                root.get("dueDate"),
+                root.get("category"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                root.get("user").get("id"),
+                root.get("version")));
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, SecondLevelCacheConfig.TASK_LISTS_REGION)
+                .getResultList();
+    }
+    
+    @Override
+    public int deleteOwned(Collection<Long> ids, Long userId) {
+        // Not covered by the query space, so pending entity changes are flushed by hand
+        entityManager.flush();
+        int deleted = entityManager.createNativeQuery("DELETE FROM tasks WHERE id IN (:ids) AND user_id = :userId")
+                .setParameter("ids", ids)
+                .setParameter("userId", userId)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(OWNED_DELETE_SPACE)
+                .executeUpdate();
+        if (deleted > 0) {
+            List<Long> evicted = List.copyOf(ids);
+            evict(evicted);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evict(evicted);
+                    }
+                });
+            }
+        }
+        return deleted;
+    }
+    
+    @Override
+    public void evictListQueries() {
+        entityManager.getEntityManagerFactory().getCache().unwrap(org.hibernate.Cache.class)
+                .evictQueryRegion(SecondLevelCacheConfig.TASK_LISTS_REGION);
+    }
+    
+    private void evict(Collection<Long> ids) {
+        jakarta.persistence.Cache cache = entityManager.getEntityManagerFactory().getCache();
+        ids.forEach(id -> cache.evict(Task.class, id));
+        evictListQueries();
+    }
+}
@@ -0,0 +1,135 @@
+package com.marius.taskapi.repository;
+
+import com.marius.taskapi.dto.TaskFilter;
+import com.marius.taskapi.dto.TaskSort;
+import com.marius.taskapi.model.Task;
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Building blocks for task list queries. {@link #matching} only emits the
+ * predicates that were actually requested (see {@link TaskPredicates#matching}),
+ * so every filter combination gets its own tight SQL (and plan) instead of one
+ * catch-all "(:x IS NULL OR ...)" statement that no index can serve well.
+ */
+public final class TaskSpecifications {
+    
+    private static final TaskPredicates<Specification<Task>> PREDICATES = new JpaPredicates();
+    
+    private TaskSpecifications() {}
+    
+    public static Specification<Task> matching(Long userId, TaskFilter filter) {
+        return PREDICATES.matching(userId, filter);
+    }
+    
+    public static Specification<Task> ownedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+    
+    public static Specification<Task> statusIn(Set<TaskStatus> statuses) {
+        return (root, query, cb) -> statuses.size() == 1
+                ? cb.equal(root.get("status"), statuses.iterator().next())
+                : root.get("status").in(statuses);
+    }
+    
+    public static Specification<Task> priorityIn(Set<TaskPriority> priorities) {
+        return (root, query, cb) -> priorities.size() == 1
+                ? cb.equal(root.get("priority"), priorities.iterator().next())
+                : root.get("priority").in(priorities);
+    }
+    
+    public static Specification<Task> inCategory(String category) {
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+    
+    public static Specification<Task> dueOn(LocalDate date) {
+        return (root, query, cb) -> cb.equal(root.get("dueDate"), date);
+    }
+    
+    public static Specification<Task> dueOnOrAfter(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dueDate"), date);
+    }
+    
+    public static Specification<Task> dueOnOrBefore(LocalDate date) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dueDate"), date);
+    }
+    
+    /**
+     * Rows strictly after the keyset position {@code (value, id)} in the given
+     * order. Nulls are treated as the highest value, matching how PostgreSQL
+     * (and H2 with DEFAULT_NULL_ORDERING=HIGH) order them.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Task> after(TaskSort sort, Object value, Long id) {
+        return (root, query, cb) -> {
+            Path<Comparable> field = root.get(sort.getField().getProperty());
+            Path<Long> idPath = root.get("id");
+            boolean descending = sort.isDescending();
+            Predicate idBeyond = descending ? cb.lessThan(idPath, id) : cb.greaterThan(idPath, id);
+            
+            if (value == null) {
+                return descending
+                        ? cb.or(cb.isNotNull(field), cb.and(cb.isNull(field), idBeyond))
+                        : cb.and(cb.isNull(field), idBeyond);
+            }
+            
+            Comparable bound = (Comparable) value;
+            Expression<Comparable> expression = field;
+            Predicate valueBeyond = descending
+                    ? cb.lessThan(expression, bound)
+                    : cb.greaterThan(expression, bound);
+            Predicate keyset = cb.or(valueBeyond, cb.and(cb.equal(field, bound), idBeyond));
+            return descending ? keyset : cb.or(keyset, cb.isNull(field));
+        };
+    }
+    
+    private static final class JpaPredicates implements TaskPredicates<Specification<Task>> {
+        
+        @Override
+        public Specification<Task> ownedBy(Long userId) {
+            return TaskSpecifications.ownedBy(userId);
+        }
+        
+        @Override
+        public Specification<Task> statusIn(Set<TaskStatus> statuses) {
+            return TaskSpecifications.statusIn(statuses);
+        }
+        
+        @Override
+        public Specification<Task> priorityIn(Set<TaskPriority> priorities) {
+            return TaskSpecifications.priorityIn(priorities);
+        }
+        
+        @Override
+        public Specification<Task> inCategory(String category) {
+            return TaskSpecifications.inCategory(category);
+        }
+        
+        @Override
+        public Specification<Task> dueOn(LocalDate date) {
+            return TaskSpecifications.dueOn(date);
+        }
+        
+        @Override
+        public Specification<Task> dueOnOrAfter(LocalDate date) {
+            return TaskSpecifications.dueOnOrAfter(date);
+        }
+        
+        @Override
+        public Specification<Task> dueOnOrBefore(LocalDate date) {
+            return TaskSpecifications.dueOnOrBefore(date);
+        }
+        
+        @Override
+        public Specification<Task> and(Specification<Task> left, Specification<Task> right) {
+            return left.and(right);
+        }
+    }
+}
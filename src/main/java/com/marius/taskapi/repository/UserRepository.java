@@ -1,7 +1,11 @@
 package com.marius.taskapi.repository;
 
+import com.marius.taskapi.config.SecondLevelCacheConfig;
 import com.marius.taskapi.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -17,6 +21,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Boolean existsByEmail(String email);
     
+    // Runs for every login and every token that is not in JwtAuthenticationCache;
+    // the cached id resolves through the users entity region
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.USER_LOOKUPS_REGION)
+    })
     Optional<User> findByUsernameOrEmail(String username, String email);
 }
 
@@ -2,10 +2,13 @@ package com.marius.taskapi.security;
 
 import com.marius.taskapi.model.User;
 import com.marius.taskapi.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -15,22 +18,41 @@ import java.util.ArrayList;
 import java.util.Collection;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
-        User user = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + usernameOrEmail));
+        Timer.Sample lookup = Timer.start(meterRegistry);
+        User user = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail).orElse(null);
+        lookup.stop(Timer.builder("auth.user.lookup")
+                .tag("found", String.valueOf(user != null))
+                .register(meterRegistry));
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found: " + usernameOrEmail);
+        }
+        
+        return UserPrincipal.create(user, getAuthorities());
+    }
+    
+    /**
+     * Stores a password re-hashed with the current BCrypt cost. Called by
+     * Spring Security right after a successful login.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsernameOrEmail(userDetails.getUsername(), userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
         
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                getAuthorities()
-        );
+        return UserPrincipal.create(user, getAuthorities());
     }
     
     private Collection<? extends GrantedAuthority> getAuthorities() {
@@ -0,0 +1,113 @@
+package com.marius.taskapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Remembers tokens that have already been verified, together with the user
+ * they resolved to, so repeated requests with the same bearer token skip the
+ * signature check and the user lookup.
+ * <p>
+ * Entries are keyed by a SHA-256 hash of the token, never outlive the token's
+ * own expiry and are dropped whenever the user they belong to changes. The
+ * cached user carries no password hash; it is not needed once the token has
+ * been verified.
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private final Cache<String, Entry> cache;
+
+    public JwtAuthenticationCache(
+            @Value("${jwt.cache.max-size:10000}") long maxSize,
+            @Value("${jwt.cache.max-ttl-seconds:300}") long maxTtlSeconds) {
+        long maxTtlNanos = Duration.ofSeconds(maxTtlSeconds).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        long untilTokenExpiry = Duration.ofMillis(
+                                entry.expiresAtMillis - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(untilTokenExpiry, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @return the user a previously verified token resolved to, or {@code null}
+     *         if the token is unknown or its entry has expired
+     */
+    public UserDetails get(String token) {
+        Entry entry = cache.getIfPresent(hash(token));
+        return entry != null ? entry.userDetails : null;
+    }
+
+    public void put(String token, Claims claims, UserDetails userDetails) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+        cache.put(hash(token), new Entry(claims.getExpiration().getTime(), withoutCredentials(userDetails)));
+    }
+
+    /**
+     * Drops every cached token of the given user, e.g. after their account changed.
+     */
+    public void evictUser(String username) {
+        cache.asMap().values().removeIf(entry -> entry.userDetails.getUsername().equals(username));
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private static UserDetails withoutCredentials(UserDetails userDetails) {
+        if (userDetails instanceof UserPrincipal principal) {
+            return new UserPrincipal(principal.getId(), principal.getUsername(), null, principal.getAuthorities());
+        }
+        return User.withUserDetails(userDetails).password("").build();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final long expiresAtMillis;
+        private final UserDetails userDetails;
+
+        private Entry(long expiresAtMillis, UserDetails userDetails) {
+            this.expiresAtMillis = expiresAtMillis;
+            this.userDetails = userDetails;
+        }
+    }
+}
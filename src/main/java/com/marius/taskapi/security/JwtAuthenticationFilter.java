@@ -1,5 +1,9 @@
 package com.marius.taskapi.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,6 +29,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
     
+    @Autowired
+    private JwtAuthenticationCache authenticationCache;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                     HttpServletResponse response, 
@@ -43,26 +53,68 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         
+        Timer.Sample verification = Timer.start(meterRegistry);
+        String cache = "miss";
+        String outcome = null;
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            if (StringUtils.hasText(jwt)) {
+                UserDetails userDetails = authenticationCache.get(jwt);
+                if (userDetails != null) {
+                    cache = "hit";
+                }
+                
+                if (userDetails == null) {
+                    Claims claims = tokenProvider.parseClaims(jwt);
+                    userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+                    
+                    // A token must not carry over to a different account that later took the same username
+                    Long tokenUserId = tokenProvider.getUserId(claims);
+                    if (tokenUserId != null && userDetails instanceof UserPrincipal principal
+                            && !tokenUserId.equals(principal.getId())) {
+                        throw new JwtException("Token was issued for a different user id");
+                    }
+                    
+                    authenticationCache.put(jwt, claims, userDetails);
+                }
+                outcome = "valid";
                 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
+        } catch (JwtException ex) {
+            outcome = "invalid";
+            logger.debug("Rejected invalid JWT: " + ex.getMessage());
         } catch (Exception ex) {
+            // E.g. the token's user no longer exists or the user lookup failed
+            outcome = "error";
             logger.error("Could not set user authentication in security context", ex);
+        } finally {
+            // Requests without a token were not verified and are not timed
+            if (outcome != null) {
+                verification.stop(verificationTimer(cache, outcome));
+            }
         }
         
         filterChain.doFilter(request, response);
     }
     
+    /**
+     * Times token verification, including the user lookup on a cache miss.
+     * Rejected tokens never enter the cache, so they are always a miss. The
+     * outcome is {@code valid}, {@code invalid} or {@code error}.
+     */
+    private Timer verificationTimer(String cache, String outcome) {
+        return Timer.builder("auth.jwt.verification")
+                .tag("cache", cache)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,22 @@
+package com.marius.taskapi.security;
+
+import com.marius.taskapi.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA entity listener that keeps {@link JwtAuthenticationCache} consistent
+ * with the users table. Instantiated by Hibernate through Spring's bean container.
+ */
+public class UserChangeListener {
+
+    @Autowired
+    private JwtAuthenticationCache authenticationCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        authenticationCache.evictUser(user.getUsername());
+    }
+}
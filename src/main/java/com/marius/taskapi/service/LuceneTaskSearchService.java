@@ -0,0 +1,227 @@
+package com.marius.taskapi.service;
+
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.event.TaskChangedEvent;
+import com.marius.taskapi.model.Task;
+import com.marius.taskapi.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process inverted index over task titles and descriptions, for databases
+ * without native full-text search (H2 in development).
+ * <p>
+ * The index lives in memory: it is rebuilt from the database on startup and
+ * kept current from committed {@link TaskChangedEvent}s. Every query term must
+ * match (as a whole word or a word prefix); title matches rank above
+ * description matches.
+ */
+@Service
+@ConditionalOnProperty(name = "task.search.engine", havingValue = "lucene", matchIfMissing = true)
+public class LuceneTaskSearchService implements TaskSearchService {
+    
+    private static final Logger log = LoggerFactory.getLogger(LuceneTaskSearchService.class);
+    
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_USER_ID = "userId";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_DESCRIPTION = "description";
+    
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    
+    private static final Sort RANKING = new Sort(
+            SortField.FIELD_SCORE,
+            new SortField(FIELD_ID, SortField.Type.LONG, true));
+    
+    private final TaskRepository taskRepository;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    
+    @Autowired
+    public LuceneTaskSearchService(TaskRepository taskRepository) throws IOException {
+        this.taskRepository = taskRepository;
+        this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            writer.deleteAll();
+            Pageable page = PageRequest.of(0, REBUILD_BATCH_SIZE, Direction.ASC, FIELD_ID);
+            long indexed = 0;
+            Slice<Task> batch;
+            do {
+                batch = taskRepository.findAll(page);
+                for (Task task : batch) {
+                    writer.addDocument(toDocument(task.getId(), task.getUser().getId(),
+                            task.getTitle(), task.getDescription()));
+                }
+                indexed += batch.getNumberOfElements();
+                page = batch.nextPageable();
+            } while (batch.hasNext());
+            searcherManager.maybeRefreshBlocking();
+            log.info("Indexed {} tasks for full-text search", indexed);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not build the task search index", e);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        try {
+            Term idTerm = idTerm(event.getTaskId());
+            if (event.getType() == TaskChangedEvent.Type.DELETED) {
+                writer.deleteDocuments(idTerm);
+            } else {
+                TaskResponse task = event.getTask();
+                writer.updateDocument(idTerm, toDocument(task.getId(), task.getUserId(),
+                        task.getTitle(), task.getDescription()));
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.error("Could not update search index for task {}", event.getTaskId(), e);
+        }
+    }
+    
+    @Override
+    public List<TaskResponse> search(Long userId, String keyword, int offset, int limit) {
+        Query query = buildQuery(userId, keyword);
+        if (query == null) {
+            return Collections.emptyList();
+        }
+        
+        List<Long> ids = new ArrayList<>(limit);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // Cursors are bounded by SearchCursor.MAX_OFFSET; addExact guards other callers
+                TopDocs topDocs = searcher.search(query, Math.addExact(offset, limit), RANKING, true);
+                ScoreDoc[] hits = topDocs.scoreDocs;
+                for (int i = offset; i < hits.length; i++) {
+                    Document doc = searcher.storedFields().document(hits[i].doc);
+                    ids.add(doc.getField(FIELD_ID).numericValue().longValue());
+                }
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Task search failed", e);
+        }
+        
+        // Preserve the ranking; rows deleted since the last refresh simply drop out
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, TaskResponse> tasksById = taskRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskResponse::getId, Function.identity()));
+        return ids.stream()
+                .map(tasksById::get)
+                .filter(task -> task != null && task.getUserId().equals(userId))
+                .collect(Collectors.toList());
+    }
+    
+    private Query buildQuery(Long userId, String keyword) {
+        List<String> terms = analyze(keyword);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(FIELD_USER_ID, userId.toString())), BooleanClause.Occur.FILTER);
+        for (String term : terms) {
+            Query anyField = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(FIELD_TITLE, term)), 4f), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new PrefixQuery(new Term(FIELD_TITLE, term)), 2f), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(FIELD_DESCRIPTION, term)), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new PrefixQuery(new Term(FIELD_DESCRIPTION, term)), 0.5f), BooleanClause.Occur.SHOULD)
+                    .build();
+            query.add(anyField, BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+    
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(FIELD_TITLE, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+    
+    private static Term idTerm(Long taskId) {
+        return new Term(FIELD_ID, taskId.toString());
+    }
+    
+    private static Document toDocument(Long id, Long userId, String title, String description) {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_ID, id.toString(), Field.Store.NO));
+        doc.add(new StoredField(FIELD_ID, id));
+        doc.add(new NumericDocValuesField(FIELD_ID, id));
+        doc.add(new StringField(FIELD_USER_ID, userId.toString(), Field.Store.NO));
+        doc.add(new TextField(FIELD_TITLE, title != null ? title : "", Field.Store.NO));
+        doc.add(new TextField(FIELD_DESCRIPTION, description != null ? description : "", Field.Store.NO));
+        return doc;
+    }
+    
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        analyzer.close();
+    }
+}
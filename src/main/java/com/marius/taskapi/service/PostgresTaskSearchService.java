@@ -0,0 +1,44 @@
+package com.marius.taskapi.service;
+
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Searches the {@code search_vector} column maintained by PostgreSQL itself
+ * (see db/migration/postgresql). Matching and ranking both happen in the
+ * database, so no application-side index has to be kept in sync.
+ */
+@Service
+@ConditionalOnProperty(name = "task.search.engine", havingValue = "postgres")
+public class PostgresTaskSearchService implements TaskSearchService {
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Override
+    public List<TaskResponse> search(Long userId, String keyword, int offset, int limit) {
+        List<Long> ids = taskRepository.searchRankedIds(userId, keyword, offset, limit);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        // Both lookups are index-driven (GIN, then primary key); the second one only
+        // projects response columns and has to restore the ranking itself
+        Map<Long, TaskResponse> tasksById = taskRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(TaskResponse::getId, Function.identity()));
+        return ids.stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
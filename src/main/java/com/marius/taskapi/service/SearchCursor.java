@@ -0,0 +1,47 @@
+package com.marius.taskapi.service;
+
+import com.marius.taskapi.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a ranked search result. Relevance scores are computed per query,
+ * so unlike {@link TaskCursor} this is an offset into the ranking.
+ */
+public final class SearchCursor {
+
+    private static final String PREFIX = "s:";
+
+    // Deepest position a cursor may point at; a ranking is not meant to be paged this far
+    public static final int MAX_OFFSET = 10_000;
+
+    private SearchCursor() {}
+
+    /**
+     * @return the offset encoded in the cursor, or {@code 0} when no cursor was supplied
+     */
+    public static int decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            int offset = Integer.parseInt(raw.substring(PREFIX.length()));
+            if (offset < 0 || offset > MAX_OFFSET) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+
+    public static String encode(int offset) {
+        String raw = PREFIX + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
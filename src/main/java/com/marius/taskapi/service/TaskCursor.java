@@ -0,0 +1,83 @@
+package com.marius.taskapi.service;
+
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.dto.TaskSort;
+import com.marius.taskapi.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a task list: the sort key and id of the last row the
+ * client has seen. Clients only ever see the opaque encoded form, which also
+ * records the sort it was issued for.
+ */
+public final class TaskCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final TaskSort sort;
+    private final Object value;
+    private final Long id;
+
+    public TaskCursor(TaskSort sort, Object value, Long id) {
+        this.sort = sort;
+        this.value = value;
+        this.id = id;
+    }
+
+    public static TaskCursor of(TaskResponse task, TaskSort sort) {
+        return new TaskCursor(sort, sort.getField().valueOf(task), task.getId());
+    }
+
+    /**
+     * Decodes a cursor previously returned as {@code nextCursor}.
+     *
+     * @param sort the ordering of the current request; the cursor must have been issued for it
+     * @return the decoded cursor, or {@code null} when no cursor was supplied
+     */
+    public static TaskCursor decode(String cursor, TaskSort sort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || first == last) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            if (!raw.substring(0, first).equals(sort.toString())) {
+                throw new BadRequestException("Cursor was issued for a different sort order");
+            }
+            String value = raw.substring(first + 1, last);
+            return new TaskCursor(
+                    sort,
+                    value.isEmpty() ? null : sort.getField().parse(value),
+                    Long.valueOf(raw.substring(last + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = sort + SEPARATOR + (value != null ? value : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public TaskSort getSort() {
+        return sort;
+    }
+
+    /**
+     * @return the sort key of the last row seen; may be {@code null} for nullable sort fields
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,70 @@
+package com.marius.taskapi.service;
+
+import com.marius.taskapi.model.TaskDeletion;
+import com.marius.taskapi.repository.TaskDeletionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tombstones of deleted tasks. Tasks are still deleted for real; the log only
+ * remembers which ids disappeared and when, for as long as the retention
+ * period, so incremental syncs can report deletions.
+ */
+@Component
+public class TaskDeletionLog {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskDeletionLog.class);
+    
+    @Autowired
+    private TaskDeletionRepository taskDeletionRepository;
+    
+    @Value("${task.changes.retention-days:30}")
+    private long retentionDays;
+    
+    /**
+     * Records the deletion of the given tasks of the user. Must be called inside
+     * the deleting transaction and before the delete, which only tasks that still
+     * exist are recorded for. Safe to call again for a task that a concurrent
+     * request is deleting.
+     */
+    public void record(Long userId, Collection<Long> taskIds) {
+        taskDeletionRepository.insertForTasks(taskIds, userId, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+    
+    /**
+     * @return the user's oldest {@code limit} deletions after {@code since}, oldest first
+     */
+    public List<TaskDeletion> deletedSince(Long userId, LocalDateTime since, int limit) {
+        return taskDeletionRepository.findDeletedSince(userId, since, PageRequest.of(0, limit));
+    }
+    
+    public List<TaskDeletion> deletedAt(Long userId, LocalDateTime deletedAt) {
+        return taskDeletionRepository.findByUserIdAndDeletedAtOrderByTaskId(userId, deletedAt);
+    }
+    
+    /**
+     * @return the oldest point in time from which deletions are still known
+     */
+    public LocalDateTime horizon(LocalDateTime now) {
+        return now.minus(Duration.ofDays(retentionDays));
+    }
+    
+    @Scheduled(cron = "${task.changes.purge-cron:0 0 3 * * *}")
+    @Transactional
+    public void purge() {
+        int purged = taskDeletionRepository.deleteOlderThan(horizon(LocalDateTime.now()));
+        log.info("Purged {} task deletion records older than {} days", purged, retentionDays);
+    }
+}
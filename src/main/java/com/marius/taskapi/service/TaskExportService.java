@@ -0,0 +1,147 @@
+package com.marius.taskapi.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.exception.BadRequestException;
+import com.marius.taskapi.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes all tasks of a user to an output stream without holding them in memory.
+ * Rows are read as {@link TaskResponse} projections from a forward-only cursor,
+ * so neither the heap nor the persistence context grows with the number of tasks.
+ */
+@Service
+public class TaskExportService {
+    
+    private static final String[] CSV_COLUMNS = {
+            "id", "title", "description", "status", "priority", "dueDate",
+            "category", "createdAt", "updatedAt"
+    };
+    
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+        
+        private final MediaType mediaType;
+        private final String extension;
+        
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+        
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+        
+        public String getExtension() {
+            return extension;
+        }
+        
+        public static Format parse(String format) {
+            if (format == null || format.isEmpty()) {
+                return NDJSON;
+            }
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported export format: " + format);
+            }
+        }
+    }
+    
+    @Autowired
+    private TaskRepository taskRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * Streams the user's tasks in id order. The transaction stays open for the
+     * whole write, which is what lets the driver fetch rows in batches instead of
+     * buffering the full result.
+     */
+    @Transactional(readOnly = true)
+    public void export(Long userId, Format format, OutputStream out) throws IOException {
+        try (Stream<TaskResponse> tasks = taskRepository.streamByUserId(userId)) {
+            if (format == Format.CSV) {
+                writeCsv(tasks.iterator(), out);
+            } else {
+                writeNdjson(tasks.iterator(), out);
+            }
+        }
+    }
+    
+    private void writeNdjson(Iterator<TaskResponse> tasks, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null)) {
+            while (tasks.hasNext()) {
+                writer.writeValue(generator, tasks.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+    
+    private void writeCsv(Iterator<TaskResponse> tasks, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", CSV_COLUMNS));
+        writer.write("\r\n");
+        while (tasks.hasNext()) {
+            TaskResponse task = tasks.next();
+            writer.write(String.valueOf(task.getId()));
+            writer.write(',');
+            writer.write(csvField(task.getTitle()));
+            writer.write(',');
+            writer.write(csvField(task.getDescription()));
+            writer.write(',');
+            writer.write(csvField(task.getStatus()));
+            writer.write(',');
+            writer.write(csvField(task.getPriority()));
+            writer.write(',');
+            writer.write(csvField(task.getDueDate()));
+            writer.write(',');
+            writer.write(csvField(task.getCategory()));
+            writer.write(',');
+            writer.write(csvField(task.getCreatedAt()));
+            writer.write(',');
+            writer.write(csvField(task.getUpdatedAt()));
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+    
+    /**
+     * Quotes a value per RFC 4180 when it contains a separator, quote or line break.
+     */
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0
+                && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
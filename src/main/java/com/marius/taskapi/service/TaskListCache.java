@@ -0,0 +1,178 @@
+package com.marius.taskapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.marius.taskapi.dto.TaskListVersion;
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.event.TaskChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keeps the newest tasks of each user, in default list order, so the unfiltered
+ * task list is served from memory. One window of up to {@link #WINDOW_SIZE}
+ * rows is cached per user; it covers the first page at any page size and the
+ * following pages for as long as their rows fall inside the window.
+ * <p>
+ * The cache is bounded by the estimated memory of its rows, not by the number
+ * of users, and a user's window is dropped after every committed change to
+ * one of their tasks. Each window also keeps the {@link TaskListVersion} it was
+ * read at, and is only served for that version, so the rows always match the
+ * list ETag; writes made by other applications are caught that way before
+ * {@code TaskChangeFeed} picks them up.
+ */
+@Component
+public class TaskListCache implements MeterBinder {
+
+    /** Enough rows for the largest page plus the look-ahead row. */
+    public static final int WINDOW_SIZE = TaskService.MAX_PAGE_SIZE + 1;
+
+    // Rough heap cost of a TaskResponse without its strings, and of the window itself
+    private static final int ROW_OVERHEAD_BYTES = 200;
+    private static final int WINDOW_OVERHEAD_BYTES = 100;
+
+    private final Cache<Long, Window> cache;
+
+    // List version last served to each user, whichever list was asked for
+    private final Cache<Long, TaskListVersion> versions;
+
+    public TaskListCache(
+            @Value("${task.list-cache.max-size-mb:64}") long maxSizeMb,
+            @Value("${task.list-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${task.list-cache.max-tracked-users:100000}") long maxTrackedUsers,
+            @Value("${task.cache.ttl-seconds:300}") long queryTtlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSizeMb * 1024 * 1024)
+                .weigher((Long userId, Window window) -> window.weight)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        // Must outlive the cached list queries a version change has to invalidate
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxTrackedUsers)
+                .expireAfterAccess(Duration.ofSeconds(queryTtlSeconds))
+                .build();
+    }
+
+    /**
+     * Records the user's current list version. When it differs from the one
+     * last served, {@code onChange} runs before the new version is recorded, and
+     * before any concurrent request of that user gets past this call, so it can
+     * drop caches that may have missed the change.
+     */
+    public void checkVersion(Long userId, TaskListVersion version, Runnable onChange) {
+        versions.asMap().compute(userId, (id, previous) -> {
+            if (previous != null && !previous.equals(version)) {
+                onChange.run();
+            }
+            return version;
+        });
+    }
+
+    /**
+     * Returns the first {@code size} rows of the user's list, loading the window
+     * if it is not cached or was read at another version. Concurrent misses for
+     * the same user run one query.
+     *
+     * @param version the user's list version, read before the rows
+     * @param loader reads the user's newest {@link #WINDOW_SIZE} tasks in default order
+     */
+    public List<TaskResponse> firstPage(Long userId, TaskListVersion version, int size,
+            Function<Long, List<TaskResponse>> loader) {
+        Window window = cache.get(userId, id -> new Window(loader.apply(id), version));
+        if (!window.version.equals(version)) {
+            window = new Window(loader.apply(userId), version);
+            cache.put(userId, window);
+        }
+        return window.slice(0, size);
+    }
+
+    /**
+     * Returns up to {@code size} rows strictly after the cursor position, or
+     * {@code null} when the window is not cached at this version or does not
+     * reach that far.
+     */
+    public List<TaskResponse> pageAfter(Long userId, TaskListVersion version, TaskCursor after, int size) {
+        Window window = cache.getIfPresent(userId);
+        if (window == null || !window.version.equals(version)) {
+            return null;
+        }
+        return window.slice(window.indexAfter((LocalDateTime) after.getValue(), after.getId()), size);
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "task-list");
+    }
+
+    private static final class Window {
+
+        private final List<TaskResponse> rows;
+        private final TaskListVersion version;
+        private final boolean complete;
+        private final int weight;
+
+        Window(List<TaskResponse> rows, TaskListVersion version) {
+            this.rows = List.copyOf(rows);
+            this.version = version;
+            // Fewer rows than requested means the window holds all of the user's tasks
+            this.complete = rows.size() < WINDOW_SIZE;
+            int bytes = WINDOW_OVERHEAD_BYTES;
+            for (TaskResponse row : rows) {
+                bytes += ROW_OVERHEAD_BYTES + 2 * (length(row.getTitle())
+                        + length(row.getDescription()) + length(row.getCategory()));
+            }
+            this.weight = bytes;
+        }
+
+        /**
+         * Position of the first row after {@code (createdAt, id)} in
+         * (createdAt DESC, id DESC) order.
+         */
+        int indexAfter(LocalDateTime createdAt, Long id) {
+            int index = 0;
+            while (index < rows.size()) {
+                TaskResponse row = rows.get(index);
+                int cmp = row.getCreatedAt().compareTo(createdAt);
+                if (cmp < 0 || (cmp == 0 && row.getId() < id)) {
+                    break;
+                }
+                index++;
+            }
+            return index;
+        }
+
+        List<TaskResponse> slice(int from, int size) {
+            int to = from + size;
+            if (to > rows.size()) {
+                if (!complete) {
+                    return null;
+                }
+                to = rows.size();
+            }
+            return rows.subList(from, to);
+        }
+
+        private static int length(String value) {
+            return value != null ? value.length() : 0;
+        }
+    }
+}
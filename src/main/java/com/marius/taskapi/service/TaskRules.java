@@ -0,0 +1,167 @@
+package com.marius.taskapi.service;
+
+import com.marius.taskapi.dto.TaskPatchRequest;
+import com.marius.taskapi.dto.TaskRequest;
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.exception.ConflictException;
+import com.marius.taskapi.exception.PreconditionFailedException;
+import com.marius.taskapi.exception.ResourceNotFoundException;
+import com.marius.taskapi.exception.UnauthorizedException;
+import com.marius.taskapi.model.TaskFields;
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+import com.marius.taskapi.security.UserPrincipal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Rules for creating and changing tasks, shared by {@link TaskService} and the
+ * reactive {@code R2dbcTaskService}. They only work on values, so each service
+ * keeps its own persistence while defaults, ownership, patching and the handling
+ * of concurrent updates stay the same for both.
+ */
+public final class TaskRules {
+    
+    // Attempts of an update whose write lost against a concurrent update of the same task
+    public static final int MAX_UPDATE_ATTEMPTS = 3;
+    
+    private TaskRules() {}
+    
+    /**
+     * Sets the fields of a new task from the request; status and priority
+     * default to TODO and MEDIUM.
+     */
+    public static void initialize(TaskFields task, TaskRequest request) {
+        task.setTitle(request.getTitle());
+        task.setDescription(request.getDescription());
+        task.setStatus(request.getStatus() != null ? request.getStatus() : TaskStatus.TODO);
+        task.setPriority(request.getPriority() != null ? request.getPriority() : TaskPriority.MEDIUM);
+        task.setDueDate(request.getDueDate());
+        task.setCategory(request.getCategory());
+    }
+    
+    /**
+     * @throws UnauthorizedException if the task with the given owner is not the current user's
+     */
+    public static void checkOwner(Long id, Long ownerId, UserPrincipal principal, String action) {
+        if (!ownerId.equals(principal.getId())) {
+            throw notAccessible(id, true, action);
+        }
+    }
+    
+    /**
+     * Error for a task that is not visible to the current user: 403 if it belongs
+     * to someone else, 404 if it does not exist.
+     */
+    public static RuntimeException notAccessible(Long id, boolean exists, String action) {
+        if (exists) {
+            return new UnauthorizedException("You don't have permission to " + action + " this task");
+        }
+        return new ResourceNotFoundException("Task not found with id: " + id);
+    }
+    
+    /**
+     * @param precondition test on the task before an update, or {@code null} for none
+     * @throws PreconditionFailedException if the precondition does not hold
+     */
+    public static void checkPrecondition(Predicate<TaskResponse> precondition, TaskResponse current) {
+        if (precondition != null && !precondition.test(current)) {
+            throw new PreconditionFailedException("Task " + current.getId() + " has been modified");
+        }
+    }
+    
+    /**
+     * A full update only changes the fields that were provided, so it is applied
+     * as a patch.
+     */
+    public static TaskPatchRequest toPatch(TaskRequest request) {
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setTitle(request.getTitle());
+        patch.setDescription(request.getDescription());
+        patch.setStatus(request.getStatus());
+        patch.setPriority(request.getPriority());
+        patch.setDueDate(request.getDueDate());
+        patch.setCategory(request.getCategory());
+        return patch;
+    }
+    
+    /**
+     * Names of the fields that {@link #applyPatch} would change on {@code task},
+     * in declaration order; empty if the patch is a no-op.
+     */
+    public static List<String> changedFields(TaskPatchRequest patch, TaskFields task) {
+        List<String> fields = new ArrayList<>();
+        addIfDifferent(fields, "title", patch.getTitle(), task.getTitle());
+        addIfDifferent(fields, "description", patch.getDescription(), task.getDescription());
+        addIfDifferent(fields, "status", patch.getStatus(), task.getStatus());
+        addIfDifferent(fields, "priority", patch.getPriority(), task.getPriority());
+        addIfDifferent(fields, "dueDate", patch.getDueDate(), task.getDueDate());
+        addIfDifferent(fields, "category", patch.getCategory(), task.getCategory());
+        return fields;
+    }
+    
+    public static void applyPatch(TaskFields task, TaskPatchRequest patch) {
+        if (patch.getTitle() != null) {
+            task.setTitle(patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            task.setDescription(patch.getDescription());
+        }
+        if (patch.getStatus() != null) {
+            task.setStatus(patch.getStatus());
+        }
+        if (patch.getPriority() != null) {
+            task.setPriority(patch.getPriority());
+        }
+        if (patch.getDueDate() != null) {
+            task.setDueDate(patch.getDueDate());
+        }
+        if (patch.getCategory() != null) {
+            task.setCategory(patch.getCategory());
+        }
+    }
+    
+    /**
+     * Describes the fields of {@code patch} that a concurrent update changed since
+     * the task was first read as {@code seen}, or returns {@code null} if there are
+     * none. A field the other update set to the same value is not a conflict.
+     */
+    public static String conflict(TaskPatchRequest patch, TaskResponse seen, TaskResponse current) {
+        if (seen == null || Objects.equals(seen.getVersion(), current.getVersion())) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        addIfChanged(fields, "title", patch.getTitle(), seen.getTitle(), current.getTitle());
+        addIfChanged(fields, "description", patch.getDescription(), seen.getDescription(), current.getDescription());
+        addIfChanged(fields, "status", patch.getStatus(), seen.getStatus(), current.getStatus());
+        addIfChanged(fields, "priority", patch.getPriority(), seen.getPriority(), current.getPriority());
+        addIfChanged(fields, "dueDate", patch.getDueDate(), seen.getDueDate(), current.getDueDate());
+        addIfChanged(fields, "category", patch.getCategory(), seen.getCategory(), current.getCategory());
+        if (fields.isEmpty()) {
+            return null;
+        }
+        return "Task " + current.getId() + " was modified concurrently: " + String.join(", ", fields);
+    }
+    
+    /**
+     * Error for an update that lost against concurrent updates on every attempt.
+     */
+    public static ConflictException concurrentlyModified() {
+        return new ConflictException("The task is being modified concurrently; try again");
+    }
+    
+    private static void addIfDifferent(List<String> fields, String field, Object patched, Object current) {
+        if (patched != null && !Objects.equals(patched, current)) {
+            fields.add(field);
+        }
+    }
+    
+    private static void addIfChanged(List<String> fields, String field, Object patched, Object seen, Object current) {
+        if (patched != null && !Objects.equals(seen, current) && !Objects.equals(patched, current)) {
+            fields.add(field);
+        }
+    }
+}
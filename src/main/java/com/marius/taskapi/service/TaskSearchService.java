@@ -0,0 +1,24 @@
+package com.marius.taskapi.service;
+
+import com.marius.taskapi.dto.TaskResponse;
+
+import java.util.List;
+
+/**
+ * Full-text search over the title and description of a user's tasks.
+ * <p>
+ * The implementation is chosen with {@code task.search.engine}: {@code lucene}
+ * (default, an in-process index suitable for H2 and development) or
+ * {@code postgres} (a weighted tsvector column backed by a GIN index).
+ */
+public interface TaskSearchService {
+    
+    /**
+     * Returns the user's tasks matching {@code keyword}, best match first.
+     * Ties are broken by id, newest first, so paging is stable.
+     *
+     * @param offset number of ranked results to skip
+     * @param limit  maximum number of results to return
+     */
+    List<TaskResponse> search(Long userId, String keyword, int offset, int limit);
+}
@@ -1,40 +1,108 @@
 package com.marius.taskapi.service;
 
+import com.marius.taskapi.dto.BulkTaskPatch;
+import com.marius.taskapi.dto.BulkTaskResponse;
+import com.marius.taskapi.dto.BulkTaskResult;
+import com.marius.taskapi.dto.TaskPageResponse;
+import com.marius.taskapi.dto.TaskChangesResponse;
+import com.marius.taskapi.dto.TaskFilter;
+import com.marius.taskapi.dto.TaskListVersion;
+import com.marius.taskapi.dto.TaskPatchRequest;
 import com.marius.taskapi.dto.TaskRequest;
 import com.marius.taskapi.dto.TaskResponse;
-import com.marius.taskapi.exception.ResourceNotFoundException;
-import com.marius.taskapi.exception.UnauthorizedException;
+import com.marius.taskapi.dto.TaskSort;
+import com.marius.taskapi.dto.TaskStatsResponse;
+import com.marius.taskapi.event.TaskChangedEvent;
+import com.marius.taskapi.exception.BadRequestException;
+import com.marius.taskapi.exception.ConflictException;
+import com.marius.taskapi.exception.GoneException;
+import com.marius.taskapi.exception.PreconditionFailedException;
 import com.marius.taskapi.model.Task;
-import com.marius.taskapi.model.TaskPriority;
-import com.marius.taskapi.model.TaskStatus;
+import com.marius.taskapi.model.TaskDeletion;
 import com.marius.taskapi.model.User;
 import com.marius.taskapi.repository.TaskRepository;
+import com.marius.taskapi.repository.TaskSpecifications;
 import com.marius.taskapi.repository.UserRepository;
+import com.marius.taskapi.security.UserPrincipal;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
     
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BULK_SIZE = 1000;
+    public static final int DEFAULT_CHANGES_PAGE_SIZE = 500;
+    public static final int MAX_CHANGES_PAGE_SIZE = 1000;
+    
+    /**
+     * How far behind the current time a changes watermark is set. A change only
+     * becomes visible when its transaction commits, which can be after a later
+     * change was already read; rows inside this margin are sent again on the
+     * next poll instead of being skipped.
+     */
+    @Value("${task.changes.commit-lag-seconds:5}")
+    private long changesCommitLagSeconds = 5;
+    
     @Autowired
     private TaskRepository taskRepository;
     
     @Autowired
     private UserRepository userRepository;
     
-    private User getCurrentUser(UserDetails userDetails) {
-        String username = userDetails.getUsername();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-    }
+    @Autowired
+    private TaskSearchService taskSearchService;
+    
+    @Autowired
+    private TaskListCache taskListCache;
+    
+    @Autowired
+    private TaskStatsCache taskStatsCache;
+    
+    @Autowired
+    private TaskDeletionLog taskDeletionLog;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
-    private TaskResponse convertToResponse(Task task) {
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    TaskResponse convertToResponse(Task task) {
         TaskResponse response = new TaskResponse();
         response.setId(task.getId());
         response.setTitle(task.getTitle());
@@ -46,112 +114,483 @@ public class TaskService {
         response.setCreatedAt(task.getCreatedAt());
         response.setUpdatedAt(task.getUpdatedAt());
         response.setUserId(task.getUser().getId());
+        response.setVersion(task.getVersion());
         return response;
     }
     
-    @Transactional
-    public TaskResponse createTask(TaskRequest request, UserDetails userDetails) {
-        User user = getCurrentUser(userDetails);
-        
+    /**
+     * Requests one row more than the page size so the presence of a next page
+     * can be detected without a count query.
+     */
+    private Pageable pageOf(Integer limit) {
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return PageRequest.of(0, size + 1);
+    }
+    
+    private TaskPageResponse toPageResponse(List<TaskResponse> tasks, Pageable page, TaskSort sort) {
+        int size = page.getPageSize() - 1;
+        String nextCursor = null;
+        if (tasks.size() > size) {
+            tasks = tasks.subList(0, size);
+            nextCursor = TaskCursor.of(tasks.get(size - 1), sort).encode();
+        }
+        return new TaskPageResponse(tasks, nextCursor);
+    }
+    
+    /**
+     * Drops the cached list queries when the user's list changed since their
+     * last list request. Hibernate has already invalidated them if the change
+     * went through it; a change by another application would otherwise only be
+     * seen after the next TaskChangeFeed poll, with a list ETag that is already
+     * current.
+     */
+    private void checkListVersion(Long userId, TaskListVersion version) {
+        taskListCache.checkVersion(userId, version, taskRepository::evictListQueries);
+    }
+    
+    private Task newTask(TaskRequest request, User user) {
         Task task = new Task();
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setStatus(request.getStatus() != null ? request.getStatus() : TaskStatus.TODO);
-        task.setPriority(request.getPriority() != null ? request.getPriority() : TaskPriority.MEDIUM);
-        task.setDueDate(request.getDueDate());
-        task.setCategory(request.getCategory());
+        TaskRules.initialize(task, request);
         task.setUser(user);
-        
-        task = taskRepository.save(task);
-        return convertToResponse(task);
+        return task;
     }
     
-    public List<TaskResponse> getAllTasks(UserDetails userDetails) {
-        User user = getCurrentUser(userDetails);
-        List<Task> tasks = taskRepository.findByUserId(user.getId());
-        return tasks.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    @Transactional
+    public TaskResponse createTask(TaskRequest request, UserPrincipal principal) {
+        // The principal was authenticated against the users table, so a reference is enough
+        User user = userRepository.getReferenceById(principal.getId());
+        
+        Task task = taskRepository.save(newTask(request, user));
+        TaskResponse response = convertToResponse(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(response));
+        return response;
     }
     
-    public List<TaskResponse> getTasksWithFilters(
-            TaskStatus status,
-            TaskPriority priority,
-            String category,
-            LocalDate dueDate,
-            UserDetails userDetails) {
-        User user = getCurrentUser(userDetails);
-        List<Task> tasks = taskRepository.findByUserIdWithFilters(
-                user.getId(), status, priority, category, dueDate);
-        return tasks.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    /**
+     * @param version the user's list version from {@link #getListVersion}; the
+     *        page is read at that version, so it matches the list ETag
+     */
+    @Transactional(readOnly = true)
+    public TaskPageResponse getAllTasks(String cursor, Integer limit, TaskListVersion version, UserPrincipal principal) {
+        TaskCursor after = TaskCursor.decode(cursor, TaskSort.DEFAULT);
+        Pageable page = pageOf(limit);
+        checkListVersion(principal.getId(), version);
+        if (after == null) {
+            List<TaskResponse> tasks = taskListCache.firstPage(principal.getId(), version, page.getPageSize(),
+                    userId -> taskRepository.findPageByUserId(userId, PageRequest.of(0, TaskListCache.WINDOW_SIZE)));
+            return toPageResponse(tasks, page, TaskSort.DEFAULT);
+        }
+        List<TaskResponse> tasks = taskListCache.pageAfter(principal.getId(), version, after, page.getPageSize());
+        if (tasks == null) {
+            tasks = taskRepository.findPageByUserIdAfter(
+                    principal.getId(), (LocalDateTime) after.getValue(), after.getId(), page);
+        }
+        return toPageResponse(tasks, page, TaskSort.DEFAULT);
     }
     
-    public List<TaskResponse> searchTasks(String keyword, UserDetails userDetails) {
-        User user = getCurrentUser(userDetails);
-        List<Task> tasks = taskRepository.searchByUserIdAndKeyword(user.getId(), keyword);
-        return tasks.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public TaskPageResponse getTasksWithFilters(
+            TaskFilter filter,
+            String cursor,
+            Integer limit,
+            TaskListVersion version,
+            UserPrincipal principal) {
+        TaskSort sort = filter.getSort();
+        TaskCursor after = TaskCursor.decode(cursor, sort);
+        Pageable page = pageOf(limit);
+        checkListVersion(principal.getId(), version);
+        
+        Specification<Task> spec = TaskSpecifications.matching(principal.getId(), filter);
+        if (after != null) {
+            spec = spec.and(TaskSpecifications.after(sort, after.getValue(), after.getId()));
+        }
+        List<TaskResponse> tasks = taskRepository.findResponses(spec, sort.toSort(), page.getPageSize());
+        return toPageResponse(tasks, page, sort);
     }
     
-    public TaskResponse getTaskById(Long id, UserDetails userDetails) {
-        User user = getCurrentUser(userDetails);
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+    @Transactional(readOnly = true)
+    public TaskPageResponse searchTasks(String keyword, String cursor, Integer limit, UserPrincipal principal) {
+        int offset = SearchCursor.decode(cursor);
+        Pageable page = pageOf(limit);
+        int size = page.getPageSize() - 1;
+        List<TaskResponse> tasks = taskSearchService.search(principal.getId(), keyword, offset, page.getPageSize());
         
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new UnauthorizedException("You don't have permission to access this task");
+        String nextCursor = null;
+        if (tasks.size() > size) {
+            tasks = tasks.subList(0, size);
+            // Ranking ends where cursors stop being accepted
+            if (offset + size <= SearchCursor.MAX_OFFSET) {
+                nextCursor = SearchCursor.encode(offset + size);
+            }
         }
-        
-        return convertToResponse(task);
+        return new TaskPageResponse(tasks, nextCursor);
     }
     
-    @Transactional
-    public TaskResponse updateTask(Long id, TaskRequest request, UserDetails userDetails) {
-        User user = getCurrentUser(userDetails);
+    /**
+     * Loads a task by primary key, so it can be served from the second-level
+     * cache, and only then checks ownership. The owner's id is read from the
+     * lazy user reference without initialising it.
+     */
+    private Task findOwnedTask(Long id, UserPrincipal principal, String action) {
         Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+                .orElseThrow(() -> TaskRules.notAccessible(id, false, action));
+        TaskRules.checkOwner(id, task.getUser().getId(), principal, action);
+        return task;
+    }
+    
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Long id, UserPrincipal principal) {
+        Task task = findOwnedTask(id, principal, "access");
         
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new UnauthorizedException("You don't have permission to update this task");
+        return convertToResponse(task);
+    }
+    
+    /**
+     * What changed in the user's task list after {@code since}: the current
+     * state of created and updated tasks, and the ids of deleted ones, oldest
+     * first and at most {@code limit} of them. A task can appear in both lists
+     * if it was deleted while this ran.
+     * <p>
+     * A page ends at a point in time that no later change shares, so passing its
+     * {@code until} as the next {@code since} skips nothing. A single bulk change
+     * larger than the page is returned whole.
+     *
+     * @throws GoneException if deletions that old are no longer recorded
+     */
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getChanges(LocalDateTime since, Integer limit, UserPrincipal principal) {
+        int size = limit != null ? limit : DEFAULT_CHANGES_PAGE_SIZE;
+        if (size < 1 || size > MAX_CHANGES_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_CHANGES_PAGE_SIZE);
+        }
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (since.isBefore(taskDeletionLog.horizon(now))) {
+            throw new GoneException("Changes since " + since + " are no longer available; reload the full task list");
         }
+        Long userId = principal.getId();
+        List<TaskResponse> changed = taskRepository.findChangedSince(userId, since, PageRequest.of(0, size + 1));
+        List<TaskDeletion> deleted = taskDeletionLog.deletedSince(userId, since, size + 1);
         
-        if (request.getTitle() != null) {
-            task.setTitle(request.getTitle());
+        LocalDateTime settled = now.minusSeconds(changesCommitLagSeconds);
+        if (changed.size() + deleted.size() <= size) {
+            return new TaskChangesResponse(changed, taskIds(deleted), settled.isAfter(since) ? settled : since, false);
         }
-        if (request.getDescription() != null) {
-            task.setDescription(request.getDescription());
+        
+        // Both lists hold at least the first size + 1 changes, so their merged times are exact up to there
+        List<LocalDateTime> times = Stream.concat(
+                        changed.stream().map(TaskResponse::getUpdatedAt),
+                        deleted.stream().map(TaskDeletion::getDeletedAt))
+                .sorted()
+                .toList();
+        LocalDateTime last = times.get(size - 1);
+        if (times.get(size).equals(last)) {
+            // The page would split changes made at the same time; end it before them
+            LocalDateTime before = null;
+            for (LocalDateTime time : times) {
+                if (time.isBefore(last)) {
+                    before = time;
+                }
+            }
+            if (before != null) {
+                last = before;
+            } else {
+                // Every change on the page was made at once, e.g. by a bulk delete
+                changed = taskRepository.findChangedAt(userId, last);
+                deleted = taskDeletionLog.deletedAt(userId, last);
+            }
         }
-        if (request.getStatus() != null) {
-            task.setStatus(request.getStatus());
+        LocalDateTime pageEnd = last;
+        changed = changed.stream().filter(task -> !task.getUpdatedAt().isAfter(pageEnd)).toList();
+        deleted = deleted.stream().filter(deletion -> !deletion.getDeletedAt().isAfter(pageEnd)).toList();
+        
+        // Changes inside the commit lag are sent again on the next regular poll
+        if (pageEnd.isAfter(settled)) {
+            return new TaskChangesResponse(changed, taskIds(deleted), settled.isAfter(since) ? settled : since, false);
         }
-        if (request.getPriority() != null) {
-            task.setPriority(request.getPriority());
+        return new TaskChangesResponse(changed, taskIds(deleted), pageEnd, true);
+    }
+    
+    private static List<Long> taskIds(List<TaskDeletion> deletions) {
+        return deletions.stream().map(TaskDeletion::getTaskId).toList();
+    }
+    
+    /**
+     * Cheap fingerprint of the user's task list for conditional list requests.
+     */
+    @Transactional(readOnly = true)
+    public TaskListVersion getListVersion(UserPrincipal principal) {
+        return taskRepository.findListVersion(principal.getId());
+    }
+    
+    /**
+     * Task counts by status, priority and category, and the number of overdue
+     * tasks, computed by the database and cached until the user's tasks change.
+     */
+    @Transactional(readOnly = true)
+    public TaskStatsResponse getStats(UserPrincipal principal) {
+        LocalDate today = LocalDate.now();
+        return taskStatsCache.get(principal.getId(), today,
+                userId -> TaskStatsResponse.of(taskRepository.countStats(userId, today), today));
+    }
+    
+    public TaskResponse updateTask(Long id, TaskRequest request, UserPrincipal principal) {
+        return updateTask(id, request, null, principal);
+    }
+    
+    /**
+     * Updates a task if its current state satisfies {@code precondition}. The
+     * check runs on the row loaded for the update, in the same transaction, so it
+     * costs no extra query.
+     * <p>
+     * No row lock is taken. If another update of the task commits between the read
+     * and the write, the version check makes this write fail, and it is retried on
+     * the fresh row as long as the other update changed none of the fields this
+     * request sets.
+     *
+     * @param precondition test on the task before the update, or {@code null} for none
+     * @throws PreconditionFailedException if the precondition does not hold
+     * @throws ConflictException if a concurrent update changed a field this request sets
+     */
+    public TaskResponse updateTask(Long id, TaskRequest request, Predicate<TaskResponse> precondition,
+                                   UserPrincipal principal) {
+        return patchTask(id, TaskRules.toPatch(request), precondition, principal);
+    }
+    
+    /**
+     * Applies the fields set in {@code patch} to a task, with the same
+     * precondition and concurrency handling as {@link #updateTask}. The task is
+     * normally read from the second-level cache, and Task uses dynamic updates,
+     * so a change costs a single UPDATE of the changed columns, updated_at and
+     * version. A patch that changes nothing issues no statement at all and
+     * publishes no change event.
+     */
+    public TaskResponse patchTask(Long id, TaskPatchRequest patch, Predicate<TaskResponse> precondition,
+                                  UserPrincipal principal) {
+        Map<Long, TaskResponse> firstSeen = new HashMap<>();
+        return retryOnConcurrentUpdate(() -> transactionTemplate.execute(status -> {
+            Task task = findOwnedTask(id, principal, "update");
+            TaskResponse current = convertToResponse(task);
+            TaskRules.checkPrecondition(precondition, current);
+            String conflict = TaskRules.conflict(patch, firstSeen.putIfAbsent(id, current), current);
+            if (conflict != null) {
+                throw new ConflictException(conflict);
+            }
+            
+            Long version = task.getVersion();
+            TaskRules.applyPatch(task, patch);
+            // Flushing runs @PreUpdate and the version check, so the response carries the new state
+            task = taskRepository.saveAndFlush(task);
+            TaskResponse response = convertToResponse(task);
+            // Hibernate only increments the version when it wrote a change
+            if (!Objects.equals(version, task.getVersion())) {
+                eventPublisher.publishEvent(TaskChangedEvent.updated(response));
+            }
+            return response;
+        }));
+    }
+    
+    /**
+     * Deletes with one owner-scoped statement, like {@link #deleteTasks}, without
+     * loading the task. Whether the task exists is only looked up to tell 403
+     * from 404 when nothing was deleted, which is also what a request gets that
+     * loses a race with a concurrent delete of the same task.
+     */
+    @Transactional
+    public void deleteTask(Long id, UserPrincipal principal) {
+        taskDeletionLog.record(principal.getId(), List.of(id));
+        if (taskRepository.deleteOwned(List.of(id), principal.getId()) == 0) {
+            throw TaskRules.notAccessible(id, taskRepository.existsById(id), "delete");
         }
-        if (request.getDueDate() != null) {
-            task.setDueDate(request.getDueDate());
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(id, principal.getId()));
+    }
+    
+    /**
+     * Creates all valid items in one transaction. Ids come from the pooled
+     * sequence, so the inserts go out as JDBC batches when the transaction
+     * flushes. Items that fail validation are reported and skipped.
+     */
+    @Transactional
+    public BulkTaskResponse createTasks(List<TaskRequest> requests, UserPrincipal principal) {
+        checkBulkSize(requests);
+        User user = userRepository.getReferenceById(principal.getId());
+        
+        BulkTaskResult[] results = new BulkTaskResult[requests.size()];
+        Map<Integer, Task> created = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validationError(requests.get(i));
+            if (error != null) {
+                results[i] = new BulkTaskResult(i, null, HttpStatus.BAD_REQUEST.value(), error, null);
+            } else {
+                created.put(i, newTask(requests.get(i), user));
+            }
         }
-        if (request.getCategory() != null) {
-            task.setCategory(request.getCategory());
+        
+        taskRepository.saveAll(created.values());
+        created.forEach((i, task) -> {
+            TaskResponse response = convertToResponse(task);
+            results[i] = new BulkTaskResult(i, task.getId(), HttpStatus.CREATED.value(), null, response);
+            eventPublisher.publishEvent(TaskChangedEvent.created(response));
+        });
+        return new BulkTaskResponse(Arrays.asList(results));
+    }
+    
+    /**
+     * Applies each patch to a task of the current user. All tasks are loaded
+     * with one query and the resulting updates are flushed as JDBC batches.
+     * Like {@link #updateTask}, the batch is retried when a concurrent update
+     * wins a race; patches whose fields that update changed are reported as 409.
+     */
+    public BulkTaskResponse updateTasks(List<BulkTaskPatch> patches, UserPrincipal principal) {
+        checkBulkSize(patches);
+        Set<Long> ids = patches.stream()
+                .filter(patch -> patch != null && patch.getId() != null)
+                .map(BulkTaskPatch::getId)
+                .collect(Collectors.toSet());
+        Map<Long, TaskResponse> firstSeen = new HashMap<>();
+        return retryOnConcurrentUpdate(() -> transactionTemplate.execute(
+                status -> applyPatches(patches, ids, firstSeen, principal)));
+    }
+    
+    private BulkTaskResponse applyPatches(List<BulkTaskPatch> patches, Set<Long> ids,
+                                          Map<Long, TaskResponse> firstSeen, UserPrincipal principal) {
+        Map<Long, Task> owned = ids.isEmpty() ? Collections.emptyMap()
+                : taskRepository.findByIdInAndUserId(ids, principal.getId()).stream()
+                        .collect(Collectors.toMap(Task::getId, Function.identity()));
+        Set<Long> existing = existingIds(ids, owned.keySet());
+        Map<Long, TaskResponse> current = new HashMap<>();
+        owned.forEach((id, task) -> current.put(id, convertToResponse(task)));
+        
+        BulkTaskResult[] results = new BulkTaskResult[patches.size()];
+        Map<Integer, Task> updated = new LinkedHashMap<>();
+        for (int i = 0; i < patches.size(); i++) {
+            BulkTaskPatch patch = patches.get(i);
+            String error = validationError(patch);
+            if (error != null) {
+                results[i] = new BulkTaskResult(i, patch != null ? patch.getId() : null,
+                        HttpStatus.BAD_REQUEST.value(), error, null);
+                continue;
+            }
+            Task task = owned.get(patch.getId());
+            if (task == null) {
+                results[i] = notAccessibleResult(i, patch.getId(), existing, "update");
+                continue;
+            }
+            TaskResponse state = current.get(task.getId());
+            String conflict = TaskRules.conflict(patch, firstSeen.putIfAbsent(task.getId(), state), state);
+            if (conflict != null) {
+                results[i] = new BulkTaskResult(i, patch.getId(), HttpStatus.CONFLICT.value(), conflict, null);
+                continue;
+            }
+            TaskRules.applyPatch(task, patch);
+            updated.put(i, task);
         }
         
-        task = taskRepository.save(task);
-        return convertToResponse(task);
+        // Sends the batched UPDATEs and runs @PreUpdate, so responses carry the new updatedAt
+        taskRepository.flush();
+        Set<Long> published = new HashSet<>();
+        updated.forEach((i, task) -> {
+            TaskResponse response = convertToResponse(task);
+            results[i] = new BulkTaskResult(i, task.getId(), HttpStatus.OK.value(), null, response);
+            // As in patchTask, only tasks whose version moved were actually changed
+            boolean changed = !Objects.equals(current.get(task.getId()).getVersion(), task.getVersion());
+            if (changed && published.add(task.getId())) {
+                eventPublisher.publishEvent(TaskChangedEvent.updated(response));
+            }
+        });
+        return new BulkTaskResponse(Arrays.asList(results));
     }
     
+    /**
+     * Deletes the current user's tasks among the given ids with a single
+     * statement; ids that are missing or belong to someone else are reported.
+     */
     @Transactional
-    public void deleteTask(Long id, UserDetails userDetails) {
-        User user = getCurrentUser(userDetails);
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
-        
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new UnauthorizedException("You don't have permission to delete this task");
+    public BulkTaskResponse deleteTasks(List<Long> ids, UserPrincipal principal) {
+        checkBulkSize(ids);
+        Set<Long> distinct = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> owned = distinct.isEmpty() ? Collections.emptySet()
+                : new HashSet<>(taskRepository.findOwnedIds(distinct, principal.getId()));
+        if (!owned.isEmpty()) {
+            taskDeletionLog.record(principal.getId(), owned);
+            taskRepository.deleteOwned(owned, principal.getId());
         }
+        Set<Long> existing = existingIds(distinct, owned);
         
-        taskRepository.delete(task);
+        List<BulkTaskResult> results = new ArrayList<>(ids.size());
+        Set<Long> published = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            if (id == null) {
+                results.add(new BulkTaskResult(i, null, HttpStatus.BAD_REQUEST.value(), "Id is required", null));
+            } else if (owned.contains(id)) {
+                results.add(new BulkTaskResult(i, id, HttpStatus.NO_CONTENT.value(), null, null));
+                if (published.add(id)) {
+                    eventPublisher.publishEvent(TaskChangedEvent.deleted(id, principal.getId()));
+                }
+            } else {
+                results.add(notAccessibleResult(i, id, existing, "delete"));
+            }
+        }
+        return new BulkTaskResponse(results);
+    }
+    
+    /**
+     * Runs an update transaction again when its write loses against a concurrent
+     * update. The rollback clears the persistence context, so the next attempt
+     * reads the committed row.
+     */
+    private <T> T retryOnConcurrentUpdate(Supplier<T> update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return update.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= TaskRules.MAX_UPDATE_ATTEMPTS) {
+                    throw TaskRules.concurrentlyModified();
+                }
+            }
+        }
+    }
+    
+    private void checkBulkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("At least one item is required");
+        }
+        if (items.size() > MAX_BULK_SIZE) {
+            throw new BadRequestException("At most " + MAX_BULK_SIZE + " items are allowed per request");
+        }
+    }
+    
+    private String validationError(Object item) {
+        if (item == null) {
+            return "Item must not be null";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+    
+    /**
+     * Of the requested ids that the user does not own, returns those that exist
+     * at all; bulk counterpart of {@link #findOwnedTask}.
+     */
+    private Set<Long> existingIds(Set<Long> requested, Set<Long> owned) {
+        List<Long> missing = requested.stream().filter(id -> !owned.contains(id)).toList();
+        return missing.isEmpty() ? Collections.emptySet() : new HashSet<>(taskRepository.findExistingIds(missing));
+    }
+    
+    private BulkTaskResult notAccessibleResult(int index, Long id, Set<Long> existing, String action) {
+        if (existing.contains(id)) {
+            return new BulkTaskResult(index, id, HttpStatus.FORBIDDEN.value(),
+                    "You don't have permission to " + action + " this task", null);
+        }
+        return new BulkTaskResult(index, id, HttpStatus.NOT_FOUND.value(), "Task not found with id: " + id, null);
     }
 }
-
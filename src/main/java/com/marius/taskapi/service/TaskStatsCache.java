@@ -0,0 +1,80 @@
+package com.marius.taskapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.marius.taskapi.dto.TaskStatsResponse;
+import com.marius.taskapi.event.TaskChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+/**
+ * Keeps the task statistics of each user, so repeated dashboard reads cost a
+ * map lookup. A user's entry is dropped after every committed change to one of
+ * their tasks and recomputed with one grouped query on the next read. Entries
+ * are also recomputed when the day changes, since tasks become overdue without
+ * being written. Writes made by other applications on the same database are
+ * turned into the same change events by {@code TaskChangeFeed}, so they drop
+ * the entry within one {@code task.change-feed.poll-seconds} interval.
+ */
+@Component
+public class TaskStatsCache implements MeterBinder {
+
+    private final Cache<Long, Entry> cache;
+
+    public TaskStatsCache(
+            @Value("${task.stats-cache.max-size:10000}") long maxSize,
+            @Value("${task.stats-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the user's statistics as of {@code today}, computing them if they
+     * are not cached or were computed on another day. Concurrent misses for the
+     * same user run one query.
+     */
+    public TaskStatsResponse get(Long userId, LocalDate today, Function<Long, TaskStatsResponse> loader) {
+        Entry entry = cache.getIfPresent(userId);
+        if (entry != null && entry.day.equals(today)) {
+            return entry.stats;
+        }
+        return cache.asMap().compute(userId, (id, cached) ->
+                cached != null && cached.day.equals(today) ? cached : new Entry(today, loader.apply(id))).stats;
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        evict(event.getUserId());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "task-stats");
+    }
+
+    private static final class Entry {
+
+        private final LocalDate day;
+        private final TaskStatsResponse stats;
+
+        Entry(LocalDate day, TaskStatsResponse stats) {
+            this.day = day;
+            this.stats = stats;
+        }
+    }
+}
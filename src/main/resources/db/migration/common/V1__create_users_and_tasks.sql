@@ -0,0 +1,26 @@
+-- Baseline schema, equivalent to what Hibernate generated from the entities
+-- while the application still ran with ddl-auto=create-drop.
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username    VARCHAR(50)  NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE tasks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(200)  NOT NULL,
+    description VARCHAR(1000),
+    status      VARCHAR(20)   NOT NULL,
+    priority    VARCHAR(20)   NOT NULL,
+    due_date    DATE,
+    category    VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    user_id     BIGINT        NOT NULL,
+    CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
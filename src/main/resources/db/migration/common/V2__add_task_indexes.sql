@@ -0,0 +1,14 @@
+-- Every task query is scoped to one user, so user_id leads every index.
+-- List pages are ordered by (created_at DESC, id DESC); the equality filters
+-- carry those columns too so a filtered page is read in index order and the
+-- scan stops after "limit" rows instead of sorting the whole match set.
+
+CREATE INDEX idx_tasks_user_created_id ON tasks (user_id, created_at, id);
+
+CREATE INDEX idx_tasks_user_status ON tasks (user_id, status, created_at, id);
+
+CREATE INDEX idx_tasks_user_priority ON tasks (user_id, priority, created_at, id);
+
+CREATE INDEX idx_tasks_user_category ON tasks (user_id, category, created_at, id);
+
+CREATE INDEX idx_tasks_user_due_date ON tasks (user_id, due_date);
@@ -0,0 +1,7 @@
+-- Task ids come from a sequence that Hibernate allocates from in blocks of 50
+-- (pooled optimizer), so inserts no longer need a round trip each and can be
+-- sent as JDBC batches. INCREMENT BY must match allocationSize on Task.id.
+
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,4 @@
+-- Serves the per-user (count, max(updated_at)) aggregate behind the task list
+-- ETag as an index-only scan, and range scans over recently changed tasks.
+
+CREATE INDEX idx_tasks_user_updated ON tasks (user_id, updated_at);
@@ -0,0 +1,13 @@
+-- Tombstones for deleted tasks, so GET /api/tasks/changes can report deletions.
+-- Task ids come from a sequence and are never reused, so the id alone is the key.
+-- Rows older than task.changes.retention-days are purged by TaskDeletionLog.
+
+CREATE TABLE task_deletions (
+    task_id     BIGINT       PRIMARY KEY,
+    user_id     BIGINT       NOT NULL,
+    deleted_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_task_deletions_user_deleted ON task_deletions (user_id, deleted_at);
+
+CREATE INDEX idx_task_deletions_deleted ON task_deletions (deleted_at);
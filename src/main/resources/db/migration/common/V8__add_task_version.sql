@@ -0,0 +1,4 @@
+-- Optimistic locking: every update checks and increments the version, so two
+-- writers that read the same row cannot both commit.
+
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
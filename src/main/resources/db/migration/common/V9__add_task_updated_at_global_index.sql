@@ -0,0 +1,4 @@
+-- Serves TaskChangeFeed, which polls for tasks changed by other writers
+-- (the reactive application, other instances) across all users.
+
+CREATE INDEX idx_tasks_updated ON tasks (updated_at);
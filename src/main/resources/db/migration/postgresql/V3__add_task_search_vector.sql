@@ -0,0 +1,15 @@
+-- Full-text search for PostgreSQL. The vector is a generated column, so the
+-- database keeps it current on every insert and update of title/description.
+-- Title words carry weight A and rank above description words (weight B).
+
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+ALTER TABLE tasks ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+-- user_id is part of the GIN index (via btree_gin) so a search only visits
+-- the requesting user's postings instead of every user's matches.
+CREATE INDEX idx_tasks_user_search_vector ON tasks USING GIN (user_id, search_vector);
@@ -0,0 +1,5 @@
+-- Move tasks_seq past the ids already handed out by the old identity column.
+-- The pooled optimizer treats each value as the upper end of a block of 50,
+-- so the next block starts right after the current maximum id.
+
+SELECT setval('tasks_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM tasks), false);
@@ -0,0 +1,116 @@
+package com.marius.taskapi.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the hot task endpoints against the full application with
+ * {@code task.sql-budget.fail-on-exceed} set, so a request that executes more
+ * SQL statements than its budget in application.properties fails the test.
+ */
+@SpringBootTest(properties = "task.sql-budget.fail-on-exceed=true")
+@AutoConfigureMockMvc
+class TaskControllerSqlBudgetTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private String token;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        String name = "budget" + UUID.randomUUID().toString().substring(0, 8);
+        String body = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + name + "\",\"email\":\"" + name + "@example.com\","
+                                + "\"password\":\"password123\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        token = objectMapper.readTree(body).get("token").asText();
+    }
+    
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+    
+    private long createTask(String title) throws Exception {
+        String body = mockMvc.perform(authorized(post("/api/tasks"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"" + title + "\",\"category\":\"work\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode task = objectMapper.readTree(body);
+        return task.get("id").asLong();
+    }
+    
+    @Test
+    void testSingleTaskEndpoints_StayWithinSqlBudget() throws Exception {
+        // Arrange
+        long id = createTask("First");
+        createTask("Second");
+        
+        // Act & Assert
+        mockMvc.perform(authorized(get("/api/tasks"))).andExpect(status().isOk());
+        mockMvc.perform(authorized(get("/api/tasks").param("status", "TODO"))).andExpect(status().isOk());
+        mockMvc.perform(authorized(get("/api/tasks/{id}", id))).andExpect(status().isOk());
+        mockMvc.perform(authorized(put("/api/tasks/{id}", id))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Renamed\",\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(authorized(patch("/api/tasks/{id}", id))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"IN_PROGRESS\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(authorized(get("/api/tasks/stats"))).andExpect(status().isOk());
+        mockMvc.perform(authorized(get("/api/tasks/changes").param("since", LocalDateTime.now().minusHours(1).toString())))
+                .andExpect(status().isOk());
+        mockMvc.perform(authorized(delete("/api/tasks/{id}", id))).andExpect(status().isNoContent());
+    }
+    
+    @Test
+    void testBulkEndpoints_StayWithinSqlBudget() throws Exception {
+        // Arrange
+        StringBuilder tasks = new StringBuilder("[");
+        for (int i = 0; i < 120; i++) {
+            tasks.append(i > 0 ? "," : "").append("{\"title\":\"Bulk ").append(i).append("\"}");
+        }
+        tasks.append("]");
+        
+        // Act & Assert
+        String body = mockMvc.perform(authorized(post("/api/tasks/bulk"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(tasks.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode results = objectMapper.readTree(body).get("results");
+        long first = results.get(0).get("id").asLong();
+        long second = results.get(1).get("id").asLong();
+        
+        mockMvc.perform(authorized(patch("/api/tasks/bulk"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + first + ",\"status\":\"COMPLETED\"},{\"id\":" + second + ",\"title\":\"Renamed\"}]"))
+                .andExpect(status().isOk());
+        mockMvc.perform(authorized(delete("/api/tasks/bulk"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + first + "," + second + "]"))
+                .andExpect(status().isOk());
+    }
+}
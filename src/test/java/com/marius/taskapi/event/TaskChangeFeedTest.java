@@ -0,0 +1,105 @@
+package com.marius.taskapi.event;
+
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.model.Task;
+import com.marius.taskapi.model.TaskDeletion;
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+import com.marius.taskapi.repository.TaskDeletionRepository;
+import com.marius.taskapi.repository.TaskRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskChangeFeedTest {
+    
+    @Mock
+    private TaskRepository taskRepository;
+    
+    @Mock
+    private TaskDeletionRepository taskDeletionRepository;
+    
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Mock
+    private Cache secondLevelCache;
+    
+    @Mock
+    private org.hibernate.Cache hibernateCache;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @InjectMocks
+    private TaskChangeFeed feed = new TaskChangeFeed(5, 100);
+    
+    @BeforeEach
+    void setUp() {
+        // Events published by the feed are recorded like any local change
+        lenient().doAnswer(invocation -> {
+            feed.onTaskChanged(invocation.getArgument(0));
+            return null;
+        }).when(eventPublisher).publishEvent(any(TaskChangedEvent.class));
+        lenient().when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        lenient().when(secondLevelCache.unwrap(org.hibernate.Cache.class)).thenReturn(hibernateCache);
+    }
+    
+    private TaskResponse task(long id, long version) {
+        LocalDateTime now = LocalDateTime.now();
+        return new TaskResponse(id, "Task " + id, null, TaskStatus.TODO, TaskPriority.MEDIUM,
+                null, null, now, now, 1L, version);
+    }
+    
+    @Test
+    void testPoll_PublishesChangesMadeByOtherWriters() {
+        // Arrange
+        when(taskRepository.findAllChangedSince(any())).thenReturn(List.of(task(1L, 0L), task(2L, 3L)));
+        when(taskDeletionRepository.findByDeletedAtAfter(any()))
+                .thenReturn(List.of(new TaskDeletion(3L, 1L, LocalDateTime.now())));
+        
+        // Act
+        feed.poll();
+        
+        // Assert
+        ArgumentCaptor<TaskChangedEvent> events = ArgumentCaptor.forClass(TaskChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertEquals(List.of(TaskChangedEvent.Type.CREATED, TaskChangedEvent.Type.UPDATED,
+                TaskChangedEvent.Type.DELETED), events.getAllValues().stream().map(TaskChangedEvent::getType).toList());
+        verify(secondLevelCache).evict(Task.class, 2L);
+        verify(hibernateCache).evictQueryRegion(any());
+    }
+    
+    @Test
+    void testPoll_SkipsChangesAlreadyPublishedLocally() {
+        // Arrange
+        feed.onTaskChanged(TaskChangedEvent.updated(task(1L, 2L)));
+        feed.onTaskChanged(TaskChangedEvent.deleted(3L, 1L));
+        when(taskRepository.findAllChangedSince(any())).thenReturn(List.of(task(1L, 2L)));
+        when(taskDeletionRepository.findByDeletedAtAfter(any()))
+                .thenReturn(List.of(new TaskDeletion(3L, 1L, LocalDateTime.now())));
+        
+        // Act
+        feed.poll();
+        feed.poll();
+        
+        // Assert
+        verify(eventPublisher, never()).publishEvent(any());
+        verifyNoInteractions(entityManagerFactory);
+    }
+}
@@ -0,0 +1,74 @@
+package com.marius.taskapi.event;
+
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventBusTest {
+    
+    // Collects drain tasks instead of running them, like a dispatcher stuck on slow sockets
+    private List<Runnable> dispatched;
+    private TaskEventBus bus;
+    
+    @BeforeEach
+    void setUp() {
+        dispatched = new ArrayList<>();
+        bus = new TaskEventBus(dispatched::add, 3, 2, 60_000);
+    }
+    
+    private TaskResponse task(long id, long userId) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        return new TaskResponse(id, "Task " + id, null, TaskStatus.TODO, TaskPriority.MEDIUM,
+                null, null, now, now, userId, 0L);
+    }
+    
+    @Test
+    void testOnTaskChanged_CoalescesRepeatedChangesOfOneTask() {
+        // Arrange
+        bus.subscribe(1L);
+        
+        // Act
+        for (int i = 0; i < 10; i++) {
+            bus.onTaskChanged(TaskChangedEvent.updated(task(7L, 1L)));
+        }
+        
+        // Assert
+        assertEquals(1, dispatched.size(), "one drain is queued per subscriber");
+        assertEquals(1, bus.subscriberCount(1L), "ten changes of one task fit a queue of three");
+    }
+    
+    @Test
+    void testOnTaskChanged_DisconnectsSlowSubscriber() {
+        // Arrange
+        bus.subscribe(1L);
+        bus.subscribe(2L);
+        
+        // Act
+        for (long id = 1; id <= 4; id++) {
+            bus.onTaskChanged(TaskChangedEvent.created(task(id, 1L)));
+        }
+        
+        // Assert
+        assertEquals(0, bus.subscriberCount(1L));
+        assertEquals(1, bus.subscriberCount(2L));
+    }
+    
+    @Test
+    void testSubscribe_ClosesOldestStreamOverPerUserLimit() {
+        // Act
+        bus.subscribe(1L);
+        bus.subscribe(1L);
+        bus.subscribe(1L);
+        
+        // Assert
+        assertEquals(2, bus.subscriberCount(1L));
+    }
+}
@@ -0,0 +1,43 @@
+package com.marius.taskapi.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedBCryptPasswordEncoderTest {
+    
+    private final BoundedBCryptPasswordEncoder encoder = new BoundedBCryptPasswordEncoder(5, 1, 4, 1,
+            new SimpleMeterRegistry());
+    
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+    
+    @Test
+    void testMatches_HashesWithConfiguredCost() {
+        // Act
+        String hash = encoder.encode("password123");
+        
+        // Assert
+        assertTrue(hash.startsWith("$2a$05$"));
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+    
+    @Test
+    void testUpgradeEncoding_WhenCostDiffersInEitherDirection() {
+        // Arrange
+        String cheaper = new BCryptPasswordEncoder(4).encode("password123");
+        String dearer = new BCryptPasswordEncoder(6).encode("password123");
+        
+        // Act & Assert
+        assertTrue(encoder.upgradeEncoding(cheaper));
+        assertTrue(encoder.upgradeEncoding(dearer));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password123")));
+        assertFalse(encoder.upgradeEncoding("{noop}plain"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.marius.taskapi.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthenticationCacheTest {
+
+    private JwtAuthenticationCache cache;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        cache = new JwtAuthenticationCache(100, 300);
+        userDetails = new User("testuser", "password", Collections.emptyList());
+    }
+
+    private Claims claimsExpiringIn(long millis) {
+        return Jwts.claims()
+                .subject("testuser")
+                .expiration(new Date(System.currentTimeMillis() + millis))
+                .build();
+    }
+
+    @Test
+    void testGet_ReturnsCachedUser() {
+        // Arrange
+        cache.put("token", claimsExpiringIn(60_000), userDetails);
+
+        // Act & Assert
+        assertEquals("testuser", cache.get("token").getUsername());
+        assertNull(cache.get("other-token"));
+    }
+
+    @Test
+    void testGet_ExpiredTokenIsNotReturned() {
+        // Arrange
+        cache.put("token", claimsExpiringIn(-1_000), userDetails);
+
+        // Act & Assert
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void testEvictUser_DropsAllTokensOfThatUser() {
+        // Arrange
+        UserDetails otherUser = new User("otheruser", "password", Collections.emptyList());
+        cache.put("token-1", claimsExpiringIn(60_000), userDetails);
+        cache.put("token-2", claimsExpiringIn(60_000), userDetails);
+        cache.put("token-3", claimsExpiringIn(60_000), otherUser);
+
+        // Act
+        cache.evictUser("testuser");
+
+        // Assert
+        assertNull(cache.get("token-1"));
+        assertNull(cache.get("token-2"));
+        assertEquals("otheruser", cache.get("token-3").getUsername());
+    }
+
+    @Test
+    void testPut_CachesPrincipalWithoutPasswordHash() {
+        // Arrange
+        UserPrincipal principal = new UserPrincipal(1L, "testuser", "$2a$10$hash", Collections.emptyList());
+
+        // Act
+        cache.put("token", claimsExpiringIn(60_000), principal);
+
+        // Assert
+        UserPrincipal cached = (UserPrincipal) cache.get("token");
+        assertEquals(1L, cached.getId());
+        assertEquals("testuser", cached.getUsername());
+        assertNull(cached.getPassword());
+        assertEquals("$2a$10$hash", principal.getPassword());
+    }
+}
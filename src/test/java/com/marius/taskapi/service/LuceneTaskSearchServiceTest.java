@@ -0,0 +1,99 @@
+package com.marius.taskapi.service;
+
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.event.TaskChangedEvent;
+import com.marius.taskapi.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LuceneTaskSearchServiceTest {
+    
+    @Mock
+    private TaskRepository taskRepository;
+    
+    private LuceneTaskSearchService searchService;
+    private final Map<Long, TaskResponse> tasks = new HashMap<>();
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        searchService = new LuceneTaskSearchService(taskRepository);
+        index(1L, 1L, "Write documentation", "README and API docs");
+        index(2L, 1L, "Fix login bug", "Users cannot write their password");
+        index(3L, 1L, "Plan sprint", "Unrelated");
+        index(4L, 2L, "Write documentation", "Belongs to someone else");
+    }
+    
+    @AfterEach
+    void tearDown() throws Exception {
+        searchService.close();
+    }
+    
+    private void index(Long id, Long userId, String title, String description) {
+        TaskResponse response = new TaskResponse();
+        response.setId(id);
+        response.setUserId(userId);
+        response.setTitle(title);
+        response.setDescription(description);
+        tasks.put(id, response);
+        searchService.onTaskChanged(TaskChangedEvent.created(response));
+    }
+    
+    private List<Long> search(Long userId, String keyword, int offset, int limit) {
+        when(taskRepository.findResponsesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            List<TaskResponse> found = new ArrayList<>();
+            for (Object id : (Collection<?>) invocation.getArgument(0)) {
+                found.add(tasks.get(id));
+            }
+            return found;
+        });
+        return searchService.search(userId, keyword, offset, limit).stream()
+                .map(TaskResponse::getId)
+                .collect(Collectors.toList());
+    }
+    
+    @Test
+    void testSearch_RanksTitleMatchesFirstAndScopesToUser() {
+        // Act
+        List<Long> ids = search(1L, "write", 0, 10);
+        
+        // Assert
+        assertEquals(List.of(1L, 2L), ids);
+    }
+    
+    @Test
+    void testSearch_MatchesWordPrefixes() {
+        // Act & Assert
+        assertEquals(List.of(1L), search(1L, "docu", 0, 10));
+    }
+    
+    @Test
+    void testSearch_Paginates() {
+        // Act & Assert
+        assertEquals(List.of(2L), search(1L, "write", 1, 10));
+    }
+    
+    @Test
+    void testOnTaskChanged_DeletedTaskIsNoLongerFound() {
+        // Act
+        searchService.onTaskChanged(TaskChangedEvent.deleted(1L, 1L));
+        
+        // Assert
+        assertEquals(List.of(2L), search(1L, "write", 0, 10));
+    }
+}
@@ -0,0 +1,84 @@
+package com.marius.taskapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.exception.BadRequestException;
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+import com.marius.taskapi.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceTest {
+    
+    @Mock
+    private TaskRepository taskRepository;
+    
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    
+    @InjectMocks
+    private TaskExportService taskExportService;
+    
+    private TaskResponse task(Long id, String title, String description) {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 15, 10, 30);
+        return new TaskResponse(id, title, description, TaskStatus.TODO, TaskPriority.HIGH,
+                null, null, timestamp, timestamp, 1L, 0L);
+    }
+    
+    @Test
+    void testExport_NdjsonWritesOneObjectPerLine() throws Exception {
+        // Arrange
+        when(taskRepository.streamByUserId(1L)).thenReturn(Stream.of(
+                task(1L, "First", null), task(2L, "Second", "line1\nline2")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // Act
+        taskExportService.export(1L, TaskExportService.Format.NDJSON, out);
+        
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readTree(lines[0]).get("id").asLong());
+        assertEquals("line1\nline2", objectMapper.readTree(lines[1]).get("description").asText());
+    }
+    
+    @Test
+    void testExport_CsvQuotesSpecialCharacters() throws Exception {
+        // Arrange
+        when(taskRepository.streamByUserId(1L)).thenReturn(Stream.of(task(1L, "Say \"hi\", then go", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // Act
+        taskExportService.export(1L, TaskExportService.Format.CSV, out);
+        
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("id,title,description,status,priority,dueDate,category,createdAt,updatedAt", lines[0]);
+        assertEquals("1,\"Say \"\"hi\"\", then go\",,TODO,HIGH,,,2024-01-15T10:30,2024-01-15T10:30", lines[1]);
+    }
+    
+    @Test
+    void testFormatParse_RejectsUnknownFormat() {
+        // Act & Assert
+        assertEquals(TaskExportService.Format.NDJSON, TaskExportService.Format.parse(null));
+        assertEquals(TaskExportService.Format.CSV, TaskExportService.Format.parse("csv"));
+        assertThrows(BadRequestException.class, () -> TaskExportService.Format.parse("xml"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.marius.taskapi.service;
+
+import com.marius.taskapi.dto.TaskListVersion;
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.dto.TaskSort;
+import com.marius.taskapi.event.TaskChangedEvent;
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskListCacheTest {
+
+    private static final TaskListVersion VERSION = new TaskListVersion(10L, LocalDateTime.of(2024, 1, 1, 12, 0));
+
+    private TaskListCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TaskListCache(1, 60, 100, 300);
+        loads = new AtomicInteger();
+    }
+
+    /** Newest first, one minute apart, with ids counting down from {@code count}. */
+    private Function<Long, List<TaskResponse>> loaderOf(int count) {
+        return userId -> {
+            loads.incrementAndGet();
+            List<TaskResponse> rows = new ArrayList<>();
+            LocalDateTime newest = LocalDateTime.of(2024, 1, 1, 12, 0);
+            for (int i = 0; i < count; i++) {
+                long id = count - i;
+                rows.add(new TaskResponse(id, "Task " + id, null, TaskStatus.TODO, TaskPriority.MEDIUM,
+                        null, null, newest.minusMinutes(i), newest.minusMinutes(i), userId, 0L));
+            }
+            return rows;
+        };
+    }
+
+    @Test
+    void testFirstPage_LoadsOncePerUser() {
+        // Act
+        List<TaskResponse> first = cache.firstPage(1L, VERSION, 3, loaderOf(10));
+        List<TaskResponse> second = cache.firstPage(1L, VERSION, 5, loaderOf(10));
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals(3, first.size());
+        assertEquals(5, second.size());
+        assertEquals(10L, second.get(0).getId());
+    }
+
+    @Test
+    void testPageAfter_ServesRowsInsideTheWindowOnly() {
+        // Arrange
+        cache.firstPage(1L, VERSION, 3, loaderOf(TaskListCache.WINDOW_SIZE));
+        List<TaskResponse> window = cache.firstPage(1L, VERSION, TaskListCache.WINDOW_SIZE, loaderOf(0));
+        TaskCursor third = TaskCursor.of(window.get(2), TaskSort.DEFAULT);
+        TaskCursor nearEnd = TaskCursor.of(window.get(TaskListCache.WINDOW_SIZE - 3), TaskSort.DEFAULT);
+
+        // Act
+        List<TaskResponse> page = cache.pageAfter(1L, VERSION, third, 3);
+        List<TaskResponse> beyond = cache.pageAfter(1L, VERSION, nearEnd, 3);
+
+        // Assert
+        assertEquals(window.get(3).getId(), page.get(0).getId());
+        assertEquals(3, page.size());
+        assertNull(beyond, "rows past an incomplete window must come from the database");
+        assertNull(cache.pageAfter(2L, VERSION, third, 3));
+    }
+
+    @Test
+    void testOnTaskChanged_DropsOnlyThatUsersWindow() {
+        // Arrange
+        cache.firstPage(1L, VERSION, 3, loaderOf(5));
+        cache.firstPage(2L, VERSION, 3, loaderOf(5));
+
+        // Act
+        cache.onTaskChanged(TaskChangedEvent.deleted(5L, 1L));
+        cache.firstPage(1L, VERSION, 3, loaderOf(4));
+        cache.firstPage(2L, VERSION, 3, loaderOf(4));
+
+        // Assert
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testFirstPage_ReloadsWindowReadAtAnotherVersion() {
+        // Arrange
+        TaskListVersion changed = new TaskListVersion(11L, LocalDateTime.of(2024, 1, 1, 12, 5));
+        cache.firstPage(1L, VERSION, 3, loaderOf(10));
+        TaskCursor cursor = TaskCursor.of(cache.firstPage(1L, VERSION, 3, loaderOf(10)).get(2), TaskSort.DEFAULT);
+
+        // Act
+        List<TaskResponse> stale = cache.pageAfter(1L, changed, cursor, 3);
+        List<TaskResponse> page = cache.firstPage(1L, changed, 3, loaderOf(11));
+
+        // Assert
+        assertNull(stale, "a window read at another version must not be served");
+        assertEquals(2, loads.get());
+        assertEquals(11L, page.get(0).getId());
+        assertEquals(3, cache.pageAfter(1L, changed, cursor, 3).size());
+    }
+
+    @Test
+    void testCheckVersion_RunsOnlyWhenTheVersionChanged() {
+        // Arrange
+        TaskListVersion changed = new TaskListVersion(11L, LocalDateTime.of(2024, 1, 1, 12, 5));
+        AtomicInteger changes = new AtomicInteger();
+
+        // Act
+        cache.checkVersion(1L, VERSION, changes::incrementAndGet);
+        cache.checkVersion(1L, new TaskListVersion(10L, LocalDateTime.of(2024, 1, 1, 12, 0)), changes::incrementAndGet);
+        cache.checkVersion(2L, changed, changes::incrementAndGet);
+        cache.checkVersion(1L, changed, changes::incrementAndGet);
+
+        // Assert
+        assertEquals(1, changes.get());
+    }
+}
@@ -0,0 +1,52 @@
+package com.marius.taskapi.service;
+
+import com.marius.taskapi.dto.TaskPatchRequest;
+import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.model.TaskPriority;
+import com.marius.taskapi.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskRulesTest {
+    
+    private TaskResponse task(String title, TaskStatus status, long version) {
+        return new TaskResponse(1L, title, "Description", status, TaskPriority.MEDIUM,
+                null, null, null, null, 1L, version);
+    }
+    
+    @Test
+    void testChangedFields_OnlyListsFieldsWithNewValues() {
+        // Arrange
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setTitle("Title");
+        patch.setStatus(TaskStatus.COMPLETED);
+        patch.setPriority(TaskPriority.MEDIUM);
+        
+        // Act
+        List<String> changed = TaskRules.changedFields(patch, task("Title", TaskStatus.TODO, 0));
+        
+        // Assert
+        assertEquals(List.of("status"), changed);
+    }
+    
+    @Test
+    void testConflict_OnlyForFieldsTheConcurrentUpdateChanged() {
+        // Arrange
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setTitle("Mine");
+        TaskResponse seen = task("Original", TaskStatus.TODO, 0);
+        
+        // Act
+        String otherField = TaskRules.conflict(patch, seen, task("Original", TaskStatus.COMPLETED, 1));
+        String sameField = TaskRules.conflict(patch, seen, task("Theirs", TaskStatus.TODO, 1));
+        String sameValue = TaskRules.conflict(patch, seen, task("Mine", TaskStatus.TODO, 1));
+        
+        // Assert
+        assertNull(otherField);
+        assertEquals("Task 1 was modified concurrently: title", sameField);
+        assertNull(sameValue);
+    }
+}
@@ -1,31 +1,63 @@
 package com.marius.taskapi.service;
 
+import com.marius.taskapi.dto.BulkTaskPatch;
+import com.marius.taskapi.dto.BulkTaskResponse;
+import com.marius.taskapi.dto.TaskChangesResponse;
+import com.marius.taskapi.dto.TaskFilter;
+import com.marius.taskapi.dto.TaskListVersion;
+import com.marius.taskapi.dto.TaskPageResponse;
+import com.marius.taskapi.dto.TaskPatchRequest;
 import com.marius.taskapi.dto.TaskRequest;
 import com.marius.taskapi.dto.TaskResponse;
+import com.marius.taskapi.dto.TaskSort;
+import com.marius.taskapi.dto.TaskStatsResponse;
+import com.marius.taskapi.dto.TaskStatsRow;
+import com.marius.taskapi.event.TaskChangedEvent;
+import com.marius.taskapi.exception.BadRequestException;
+import com.marius.taskapi.exception.ConflictException;
+import com.marius.taskapi.exception.GoneException;
+import com.marius.taskapi.exception.PreconditionFailedException;
 import com.marius.taskapi.exception.ResourceNotFoundException;
 import com.marius.taskapi.exception.UnauthorizedException;
 import com.marius.taskapi.model.Task;
+import com.marius.taskapi.model.TaskDeletion;
 import com.marius.taskapi.model.TaskPriority;
 import com.marius.taskapi.model.TaskStatus;
 import com.marius.taskapi.model.User;
 import com.marius.taskapi.repository.TaskRepository;
 import com.marius.taskapi.repository.UserRepository;
+import com.marius.taskapi.security.UserPrincipal;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,14 +70,34 @@ class TaskServiceTest {
     private UserRepository userRepository;
     
     @Mock
-    private UserDetails userDetails;
+    private TaskSearchService taskSearchService;
+    
+    @Spy
+    private TaskListCache taskListCache = new TaskListCache(1, 60, 100, 300);
+    
+    @Spy
+    private TaskStatsCache taskStatsCache = new TaskStatsCache(100, 60);
+    
+    @Mock
+    private TaskDeletionLog taskDeletionLog;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
     
     @InjectMocks
     private TaskService taskService;
     
     private User user;
+    private UserPrincipal principal;
     private Task task;
     private TaskRequest taskRequest;
+    private final TaskListVersion listVersion = new TaskListVersion(1L, LocalDateTime.of(2024, 1, 1, 12, 0));
     
     @BeforeEach
     void setUp() {
@@ -54,6 +106,8 @@ class TaskServiceTest {
         user.setUsername("testuser");
         user.setEmail("test@example.com");
         
+        principal = new UserPrincipal(1L, "testuser", "encodedPassword", Collections.emptyList());
+        
         task = new Task();
         task.setId(1L);
         task.setTitle("Test Task");
@@ -61,54 +115,204 @@ class TaskServiceTest {
         task.setStatus(TaskStatus.TODO);
         task.setPriority(TaskPriority.MEDIUM);
         task.setUser(user);
+        task.setVersion(0L);
         
         taskRequest = new TaskRequest();
         taskRequest.setTitle("New Task");
         taskRequest.setDescription("New Description");
         taskRequest.setStatus(TaskStatus.TODO);
         taskRequest.setPriority(TaskPriority.HIGH);
-        
-        when(userDetails.getUsername()).thenReturn("testuser");
+    }
+    
+    private TaskResponse toResponse(Task task) {
+        return new TaskResponse(task.getId(), task.getTitle(), task.getDescription(),
+                task.getStatus(), task.getPriority(), task.getDueDate(), task.getCategory(),
+                task.getCreatedAt(), task.getUpdatedAt(), task.getUser().getId(), task.getVersion());
+    }
+    
+    private TaskResponse changedAt(Long id, LocalDateTime updatedAt) {
+        return new TaskResponse(id, "Task " + id, null, TaskStatus.TODO, TaskPriority.MEDIUM, null, null,
+                updatedAt, updatedAt, 1L, 0L);
     }
     
     @Test
     void testCreateTask_Success() {
         // Arrange
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
         when(taskRepository.save(any(Task.class))).thenReturn(task);
         
         // Act
-        TaskResponse response = taskService.createTask(taskRequest, userDetails);
+        TaskResponse response = taskService.createTask(taskRequest, principal);
         
         // Assert
         assertNotNull(response);
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
     }
     
     @Test
     void testGetAllTasks_Success() {
         // Arrange
-        List<Task> tasks = Arrays.asList(task);
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(taskRepository.findByUserId(anyLong())).thenReturn(tasks);
+        List<TaskResponse> tasks = Arrays.asList(toResponse(task));
+        when(taskRepository.findPageByUserId(anyLong(), any(Pageable.class))).thenReturn(tasks);
+        
+        // Act
+        TaskPageResponse page = taskService.getAllTasks(null, null, listVersion, principal);
+        
+        // Assert
+        assertNotNull(page);
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+        verify(taskRepository, times(1)).findPageByUserId(anyLong(), any(Pageable.class));
+    }
+    
+    @Test
+    void testGetAllTasks_ReturnsCursorForNextPage() {
+        // Arrange
+        Task newer = new Task();
+        newer.setId(2L);
+        newer.setTitle("Newer Task");
+        newer.setUser(user);
+        newer.setCreatedAt(LocalDateTime.of(2024, 1, 2, 10, 0));
+        task.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(taskRepository.findPageByUserId(anyLong(), any(Pageable.class)))
+                .thenReturn(Arrays.asList(toResponse(newer), toResponse(task)));
+        
+        // Act
+        TaskPageResponse page = taskService.getAllTasks(null, 1, listVersion, principal);
+        
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertEquals(2L, page.getItems().get(0).getId());
+        TaskCursor next = TaskCursor.decode(page.getNextCursor(), TaskSort.DEFAULT);
+        assertEquals(2L, next.getId());
+        assertEquals(newer.getCreatedAt(), next.getValue());
+    }
+    
+    @Test
+    void testGetAllTasks_ContinuesFromCursor() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 10, 0);
+        String cursor = new TaskCursor(TaskSort.DEFAULT, createdAt, 2L).encode();
+        when(taskRepository.findPageByUserIdAfter(eq(1L), eq(createdAt), eq(2L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(toResponse(task)));
         
         // Act
-        List<TaskResponse> responses = taskService.getAllTasks(userDetails);
+        TaskPageResponse page = taskService.getAllTasks(cursor, 10, listVersion, principal);
         
         // Assert
-        assertNotNull(responses);
-        assertEquals(1, responses.size());
-        verify(taskRepository, times(1)).findByUserId(anyLong());
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+        verify(taskRepository, never()).findPageByUserId(anyLong(), any(Pageable.class));
+    }
+    
+    @Test
+    void testGetAllTasks_RejectsCursorFromDifferentSort() {
+        // Arrange
+        TaskSort byDueDate = TaskSort.parse("dueDate,asc");
+        String cursor = new TaskCursor(byDueDate, LocalDate.of(2024, 1, 1), 2L).encode();
+        
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> {
+            taskService.getAllTasks(cursor, null, listVersion, principal);
+        });
+    }
+    
+    @Test
+    void testGetTasksWithFilters_UsesSpecificationAndSortKeyCursor() {
+        // Arrange
+        Task later = new Task();
+        later.setId(2L);
+        later.setTitle("Later Task");
+        later.setUser(user);
+        later.setDueDate(LocalDate.of(2024, 2, 1));
+        task.setDueDate(LocalDate.of(2024, 1, 1));
+        when(taskRepository.findResponses(any(Specification.class), any(Sort.class), eq(2)))
+                .thenReturn(Arrays.asList(toResponse(task), toResponse(later)));
+        
+        TaskFilter filter = new TaskFilter();
+        filter.setStatuses(Arrays.asList(TaskStatus.TODO, TaskStatus.IN_PROGRESS));
+        filter.setSort(TaskSort.parse("dueDate,asc"));
+        
+        // Act
+        TaskPageResponse page = taskService.getTasksWithFilters(filter, null, 1, listVersion, principal);
+        
+        // Assert
+        assertEquals(1, page.getItems().size());
+        TaskCursor next = TaskCursor.decode(page.getNextCursor(), filter.getSort());
+        assertEquals(LocalDate.of(2024, 1, 1), next.getValue());
+        assertEquals(1L, next.getId());
+    }
+    
+    @Test
+    void testGetAllTasks_InvalidCursor() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> {
+            taskService.getAllTasks("not-a-cursor", null, listVersion, principal);
+        });
+    }
+    
+    @Test
+    void testGetAllTasks_LimitOutOfRange() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> {
+            taskService.getAllTasks(null, TaskService.MAX_PAGE_SIZE + 1, listVersion, principal);
+        });
+    }
+    
+    @Test
+    void testSearchTasks_ReturnsOffsetCursorForNextPage() {
+        // Arrange
+        Task other = new Task();
+        other.setId(2L);
+        other.setTitle("Test Plan");
+        other.setUser(user);
+        when(taskSearchService.search(1L, "test", 0, 2))
+                .thenReturn(Arrays.asList(toResponse(task), toResponse(other)));
+        
+        // Act
+        TaskPageResponse page = taskService.searchTasks("test", null, 1, principal);
+        
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertEquals(1L, page.getItems().get(0).getId());
+        assertEquals(1, SearchCursor.decode(page.getNextCursor()));
+    }
+    
+    @Test
+    void testSearchTasks_RejectsCursorBeyondMaxOffset() {
+        // Arrange
+        String cursor = SearchCursor.encode(Integer.MAX_VALUE - 1);
+        
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> {
+            taskService.searchTasks("test", cursor, 10, principal);
+        });
+        verifyNoInteractions(taskSearchService);
+    }
+    
+    @Test
+    void testSearchTasks_NoCursorForPageEndingPastMaxOffset() {
+        // Arrange
+        int offset = SearchCursor.MAX_OFFSET - 5;
+        List<TaskResponse> ranked = Collections.nCopies(11, toResponse(task));
+        when(taskSearchService.search(1L, "test", offset, 11)).thenReturn(ranked);
+        
+        // Act
+        TaskPageResponse page = taskService.searchTasks("test", SearchCursor.encode(offset), 10, principal);
+        
+        // Assert
+        assertEquals(10, page.getItems().size());
+        assertNull(page.getNextCursor());
     }
     
     @Test
     void testGetTaskById_Success() {
         // Arrange
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(taskRepository.findById(anyLong())).thenReturn(Optional.of(task));
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
         
         // Act
-        TaskResponse response = taskService.getTaskById(1L, userDetails);
+        TaskResponse response = taskService.getTaskById(1L, principal);
         
         // Assert
         assertNotNull(response);
@@ -119,12 +323,11 @@ class TaskServiceTest {
     @Test
     void testGetTaskById_NotFound() {
         // Arrange
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
         when(taskRepository.findById(anyLong())).thenReturn(Optional.empty());
         
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
-            taskService.getTaskById(1L, userDetails);
+            taskService.getTaskById(1L, principal);
         });
     }
     
@@ -134,43 +337,385 @@ class TaskServiceTest {
         User otherUser = new User();
         otherUser.setId(2L);
         task.setUser(otherUser);
-        
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
         when(taskRepository.findById(anyLong())).thenReturn(Optional.of(task));
         
         // Act & Assert
         assertThrows(UnauthorizedException.class, () -> {
-            taskService.getTaskById(1L, userDetails);
+            taskService.getTaskById(1L, principal);
         });
     }
     
     @Test
     void testUpdateTask_Success() {
         // Arrange
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(taskRepository.findById(anyLong())).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(task);
         
         // Act
-        TaskResponse response = taskService.updateTask(1L, taskRequest, userDetails);
+        TaskResponse response = taskService.updateTask(1L, taskRequest, principal);
         
         // Assert
         assertNotNull(response);
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskRepository, times(1)).saveAndFlush(any(Task.class));
+    }
+    
+    @Test
+    void testUpdateTask_PreconditionFailed() {
+        // Arrange
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> {
+            taskService.updateTask(1L, taskRequest, current -> false, principal);
+        });
+        assertEquals("Test Task", task.getTitle());
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+    
+    @Test
+    void testPatchTask_ChangesOnlyGivenFields() {
+        // Arrange
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setStatus(TaskStatus.COMPLETED);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(this::flushChanged);
+        
+        // Act
+        TaskResponse response = taskService.patchTask(1L, patch, null, principal);
+        
+        // Assert
+        assertEquals(TaskStatus.COMPLETED, response.getStatus());
+        assertEquals("Test Task", response.getTitle());
+        assertEquals("Test Description", response.getDescription());
+        assertEquals(TaskPriority.MEDIUM, response.getPriority());
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+    }
+    
+    @Test
+    void testPatchTask_NoChangePublishesNoEvent() {
+        // Arrange
+        TaskPatchRequest patch = new TaskPatchRequest();
+        patch.setTitle("Test Task");
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(task);
+        
+        // Act
+        TaskResponse response = taskService.patchTask(1L, patch, null, principal);
+        
+        // Assert
+        assertEquals(0L, response.getVersion());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+    
+    @Test
+    void testUpdateTask_RetriesAfterConcurrentUpdateOfOtherField() {
+        // Arrange
+        taskRequest = new TaskRequest();
+        taskRequest.setTitle("New Task");
+        Task fresh = copyOf(task);
+        fresh.setDescription("Changed concurrently");
+        fresh.setVersion(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task), Optional.of(fresh));
+        when(taskRepository.saveAndFlush(any(Task.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L))
+                .thenAnswer(this::flushChanged);
+        
+        // Act
+        TaskResponse response = taskService.updateTask(1L, taskRequest, principal);
+        
+        // Assert
+        assertEquals("New Task", response.getTitle());
+        assertEquals("Changed concurrently", response.getDescription());
+        verify(taskRepository, times(2)).saveAndFlush(any(Task.class));
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+    }
+    
+    @Test
+    void testUpdateTask_ConflictWhenConcurrentUpdateChangedSameField() {
+        // Arrange
+        Task fresh = copyOf(task);
+        fresh.setTitle("Renamed concurrently");
+        fresh.setVersion(1L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task), Optional.of(fresh));
+        when(taskRepository.saveAndFlush(any(Task.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+        
+        // Act & Assert
+        ConflictException exception = assertThrows(ConflictException.class, () -> {
+            taskService.updateTask(1L, taskRequest, principal);
+        });
+        assertTrue(exception.getMessage().contains("title"));
+        assertEquals("Renamed concurrently", fresh.getTitle());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+    
+    /** Stands in for Hibernate, which increments the version when it flushes a change. */
+    private Task flushChanged(InvocationOnMock invocation) {
+        Task flushed = invocation.getArgument(0);
+        flushed.setVersion(flushed.getVersion() + 1);
+        return flushed;
+    }
+    
+    private Task copyOf(Task source) {
+        Task copy = new Task();
+        copy.setId(source.getId());
+        copy.setTitle(source.getTitle());
+        copy.setDescription(source.getDescription());
+        copy.setStatus(source.getStatus());
+        copy.setPriority(source.getPriority());
+        copy.setUser(source.getUser());
+        copy.setVersion(source.getVersion());
+        return copy;
     }
     
     @Test
     void testDeleteTask_Success() {
         // Arrange
-        when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
-        when(taskRepository.findById(anyLong())).thenReturn(Optional.of(task));
-        doNothing().when(taskRepository).delete(any(Task.class));
+        when(taskRepository.deleteOwned(List.of(1L), 1L)).thenReturn(1);
+        
+        // Act
+        taskService.deleteTask(1L, principal);
+        
+        // Assert
+        verify(taskDeletionLog, times(1)).record(1L, List.of(1L));
+        verify(taskRepository, never()).findById(any());
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+    }
+    
+    @Test
+    void testDeleteTask_Unauthorized() {
+        // Arrange
+        when(taskRepository.deleteOwned(List.of(1L), 1L)).thenReturn(0);
+        when(taskRepository.existsById(1L)).thenReturn(true);
+        
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> {
+            taskService.deleteTask(1L, principal);
+        });
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+    
+    @Test
+    void testDeleteTask_NotFound() {
+        // Arrange
+        when(taskRepository.deleteOwned(List.of(1L), 1L)).thenReturn(0);
+        when(taskRepository.existsById(1L)).thenReturn(false);
+        
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> taskService.deleteTask(1L, principal));
+    }
+    
+    @Test
+    void testGetChanges_ReturnsChangedAndDeletedTasksSince() {
+        // Arrange
+        LocalDateTime since = LocalDateTime.now().minusMinutes(10);
+        when(taskDeletionLog.horizon(any(LocalDateTime.class))).thenReturn(since.minusDays(30));
+        when(taskRepository.findChangedSince(eq(1L), eq(since), any(Pageable.class))).thenReturn(List.of(toResponse(task)));
+        when(taskDeletionLog.deletedSince(1L, since, 501)).thenReturn(List.of(new TaskDeletion(7L, 1L, since.plusMinutes(1))));
+        
+        // Act
+        TaskChangesResponse changes = taskService.getChanges(since, null, principal);
+        
+        // Assert
+        assertEquals(1L, changes.getChanged().get(0).getId());
+        assertEquals(List.of(7L), changes.getDeleted());
+        assertTrue(changes.getUntil().isAfter(since));
+        assertTrue(changes.getUntil().isBefore(LocalDateTime.now()));
+        assertFalse(changes.isHasMore());
+    }
+    
+    @Test
+    void testGetChanges_EndsPageAtLimit() {
+        // Arrange
+        LocalDateTime since = LocalDateTime.now().minusMinutes(10);
+        when(taskDeletionLog.horizon(any(LocalDateTime.class))).thenReturn(since.minusDays(30));
+        when(taskRepository.findChangedSince(eq(1L), eq(since), any(Pageable.class))).thenReturn(List.of(
+                changedAt(1L, since.plusMinutes(1)), changedAt(2L, since.plusMinutes(3))));
+        when(taskDeletionLog.deletedSince(1L, since, 3)).thenReturn(List.of(new TaskDeletion(7L, 1L, since.plusMinutes(2))));
+        
+        // Act
+        TaskChangesResponse changes = taskService.getChanges(since, 2, principal);
+        
+        // Assert
+        assertEquals(1, changes.getChanged().size());
+        assertEquals(1L, changes.getChanged().get(0).getId());
+        assertEquals(List.of(7L), changes.getDeleted());
+        assertEquals(since.plusMinutes(2), changes.getUntil());
+        assertTrue(changes.isHasMore());
+    }
+    
+    @Test
+    void testGetChanges_DoesNotSplitChangesMadeAtOnce() {
+        // Arrange
+        LocalDateTime since = LocalDateTime.now().minusMinutes(10);
+        LocalDateTime bulk = since.plusMinutes(2);
+        when(taskDeletionLog.horizon(any(LocalDateTime.class))).thenReturn(since.minusDays(30));
+        when(taskRepository.findChangedSince(eq(1L), eq(since), any(Pageable.class))).thenReturn(List.of(
+                changedAt(1L, since.plusMinutes(1)), changedAt(2L, bulk), changedAt(3L, bulk)));
+        when(taskDeletionLog.deletedSince(1L, since, 3)).thenReturn(List.of());
+        
+        // Act
+        TaskChangesResponse changes = taskService.getChanges(since, 2, principal);
+        
+        // Assert
+        assertEquals(1, changes.getChanged().size());
+        assertEquals(since.plusMinutes(1), changes.getUntil());
+        assertTrue(changes.isHasMore());
+    }
+    
+    @Test
+    void testGetChanges_ReturnsBulkChangeLargerThanLimitWhole() {
+        // Arrange
+        LocalDateTime since = LocalDateTime.now().minusMinutes(10);
+        LocalDateTime bulk = since.plusMinutes(1);
+        when(taskDeletionLog.horizon(any(LocalDateTime.class))).thenReturn(since.minusDays(30));
+        when(taskRepository.findChangedSince(eq(1L), eq(since), any(Pageable.class))).thenReturn(List.of());
+        when(taskDeletionLog.deletedSince(1L, since, 3)).thenReturn(List.of(
+                new TaskDeletion(7L, 1L, bulk), new TaskDeletion(8L, 1L, bulk), new TaskDeletion(9L, 1L, bulk)));
+        when(taskRepository.findChangedAt(1L, bulk)).thenReturn(List.of());
+        when(taskDeletionLog.deletedAt(1L, bulk)).thenReturn(List.of(
+                new TaskDeletion(7L, 1L, bulk), new TaskDeletion(8L, 1L, bulk),
+                new TaskDeletion(9L, 1L, bulk), new TaskDeletion(10L, 1L, bulk)));
         
         // Act
-        taskService.deleteTask(1L, userDetails);
+        TaskChangesResponse changes = taskService.getChanges(since, 2, principal);
         
         // Assert
-        verify(taskRepository, times(1)).delete(any(Task.class));
+        assertEquals(List.of(7L, 8L, 9L, 10L), changes.getDeleted());
+        assertEquals(bulk, changes.getUntil());
+        assertTrue(changes.isHasMore());
+    }
+    
+    @Test
+    void testGetChanges_LimitOutOfRange() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> taskService.getChanges(LocalDateTime.now(), 0, principal));
+        assertThrows(BadRequestException.class, () -> taskService.getChanges(LocalDateTime.now(), 1001, principal));
+    }
+    
+    @Test
+    void testGetChanges_SinceBeforeRetentionHorizon() {
+        // Arrange
+        LocalDateTime since = LocalDateTime.now().minusDays(60);
+        when(taskDeletionLog.horizon(any(LocalDateTime.class))).thenReturn(LocalDateTime.now().minusDays(30));
+        
+        // Act & Assert
+        assertThrows(GoneException.class, () -> {
+            taskService.getChanges(since, null, principal);
+        });
+        verify(taskRepository, never()).findChangedSince(anyLong(), any(), any());
+    }
+    
+    @Test
+    void testGetStats_AddsUpGroupedCountsAndCachesThem() {
+        // Arrange
+        when(taskRepository.countStats(eq(1L), any(LocalDate.class))).thenReturn(List.of(
+                new TaskStatsRow(TaskStatus.TODO, TaskPriority.HIGH, "work", 3L, 1L),
+                new TaskStatsRow(TaskStatus.TODO, TaskPriority.LOW, null, 2L, 0L),
+                new TaskStatsRow(TaskStatus.COMPLETED, TaskPriority.HIGH, "work", 4L, 0L)));
+        
+        // Act
+        TaskStatsResponse stats = taskService.getStats(principal);
+        taskService.getStats(principal);
+        
+        // Assert
+        assertEquals(9, stats.getTotal());
+        assertEquals(1, stats.getOverdue());
+        assertEquals(5L, stats.getByStatus().get(TaskStatus.TODO));
+        assertEquals(0L, stats.getByStatus().get(TaskStatus.IN_PROGRESS));
+        assertEquals(7L, stats.getByPriority().get(TaskPriority.HIGH));
+        assertEquals(7L, stats.getByCategory().get("work"));
+        assertEquals(2, stats.getUncategorized());
+        verify(taskRepository, times(1)).countStats(eq(1L), any(LocalDate.class));
+    }
+    
+    @Test
+    void testCreateTasks_ReportsInvalidItemsAndSavesTheRest() {
+        // Arrange
+        TaskRequest invalid = new TaskRequest();
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        
+        // Act
+        BulkTaskResponse response = taskService.createTasks(Arrays.asList(taskRequest, invalid), principal);
+        
+        // Assert
+        assertEquals(1, response.getSucceeded());
+        assertEquals(1, response.getFailed());
+        assertEquals(201, response.getResults().get(0).getStatus());
+        assertEquals(400, response.getResults().get(1).getStatus());
+        verify(taskRepository, times(1)).saveAll(anyCollection());
+        verify(eventPublisher, times(1)).publishEvent(any(TaskChangedEvent.class));
+    }
+    
+    @Test
+    void testUpdateTasks_ReportsMissingAndForeignTasks() {
+        // Arrange
+        BulkTaskPatch own = new BulkTaskPatch();
+        own.setId(1L);
+        own.setStatus(TaskStatus.COMPLETED);
+        BulkTaskPatch foreign = new BulkTaskPatch();
+        foreign.setId(2L);
+        BulkTaskPatch missing = new BulkTaskPatch();
+        missing.setId(3L);
+        when(taskRepository.findByIdInAndUserId(anyCollection(), eq(1L))).thenReturn(List.of(task));
+        when(taskRepository.findExistingIds(anyCollection())).thenReturn(List.of(2L));
+        
+        // Act
+        BulkTaskResponse response = taskService.updateTasks(Arrays.asList(own, foreign, missing), principal);
+        
+        // Assert
+        assertEquals(TaskStatus.COMPLETED, task.getStatus());
+        assertEquals(200, response.getResults().get(0).getStatus());
+        assertEquals(403, response.getResults().get(1).getStatus());
+        assertEquals(404, response.getResults().get(2).getStatus());
+        verify(taskRepository, times(1)).flush();
+    }
+    
+    @Test
+    void testUpdateTasks_RejectsBlankTitlePerItem() {
+        // Arrange
+        BulkTaskPatch blank = new BulkTaskPatch();
+        blank.setId(1L);
+        blank.setTitle("   ");
+        BulkTaskPatch valid = new BulkTaskPatch();
+        valid.setId(1L);
+        valid.setStatus(TaskStatus.COMPLETED);
+        when(taskRepository.findByIdInAndUserId(anyCollection(), eq(1L))).thenReturn(List.of(task));
+        
+        // Act
+        BulkTaskResponse response = taskService.updateTasks(Arrays.asList(blank, valid), principal);
+        
+        // Assert
+        assertEquals(400, response.getResults().get(0).getStatus());
+        assertEquals("title: Title must not be blank", response.getResults().get(0).getError());
+        assertEquals(200, response.getResults().get(1).getStatus());
+        assertEquals("Test Task", task.getTitle());
+    }
+    
+    @Test
+    void testDeleteTasks_DeletesOwnedTasksInOneStatement() {
+        // Arrange
+        when(taskRepository.findOwnedIds(anyCollection(), eq(1L))).thenReturn(List.of(1L));
+        when(taskRepository.findExistingIds(anyCollection())).thenReturn(Collections.emptyList());
+        
+        // Act
+        BulkTaskResponse response = taskService.deleteTasks(Arrays.asList(1L, 5L), principal);
+        
+        // Assert
+        assertEquals(204, response.getResults().get(0).getStatus());
+        assertEquals(404, response.getResults().get(1).getStatus());
+        verify(taskDeletionLog, times(1)).record(1L, Set.of(1L));
+        verify(taskRepository, times(1)).deleteOwned(Set.of(1L), 1L);
+    }
+    
+    @Test
+    void testDeleteTasks_RejectsOversizedRequest() {
+        // Arrange
+        List<Long> ids = Collections.nCopies(TaskService.MAX_BULK_SIZE + 1, 1L);
+        
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> taskService.deleteTasks(ids, principal));
+        verifyNoInteractions(taskRepository);
     }
 }
-
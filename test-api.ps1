@@ -94,8 +94,8 @@ try {
         -Method GET `
         -Headers $headers
     
-    Write-Host "   ✓ Retrieved $($allTasks.Count) task(s)" -ForegroundColor Green
-    foreach ($task in $allTasks) {
+    Write-Host "   ✓ Retrieved $($allTasks.items.Count) task(s)" -ForegroundColor Green
+    foreach ($task in $allTasks.items) {
         Write-Host "   - $($task.title) ($($task.status))" -ForegroundColor Gray
     }
 } catch {